@@ -0,0 +1,81 @@
+package com.vcs.springbootTesting.benchmark;
+
+import com.vcs.springbootTesting.SpringbootTestingApplication;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.repository.EmployeeRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Boots the application against a private in-memory H2 database so benchmarks never need MySQL.
+public final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK_SIZE = 5_000;
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, WebApplicationType webApplicationType, String... properties) {
+
+        // passed as command line arguments so they override application.properties; "key=value" properties
+        // replace these defaults rather than repeat the key (a repeated argument binds as a list)
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("spring.datasource.url", "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        settings.put("spring.datasource.username", "sa");
+        settings.put("spring.datasource.password", "");
+        // same in-memory database for the reactive stack
+        settings.put("spring.r2dbc.url", "r2dbc:h2:mem:///" + databaseName + "?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        settings.put("spring.r2dbc.username", "sa");
+        settings.put("spring.r2dbc.password", "");
+        settings.put("spring.jpa.show-sql", "false");
+        settings.put("spring.main.banner-mode", "off");
+        settings.put("logging.level.root", "WARN");
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            settings.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+        List<String> args = new ArrayList<>();
+        settings.forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        // devtools would restart the calling main class with these arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(SpringbootTestingApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return start(databaseName, WebApplicationType.NONE, properties);
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int rows) {
+
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        // in a transaction, the JDBC batch would never be committed with the pool's autocommit switched off
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<Employee> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(employee(i));
+            if ( chunk.size() == SEED_CHUNK_SIZE || i == rows - 1 ) {
+                List<Employee> employees = chunk;
+                transactionTemplate.executeWithoutResult(status -> employeeRepository.insertAll(employees));
+                chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            }
+        }
+    }
+
+    public static Employee employee(long n) {
+        return Employee.builder()
+                .firstName("First" + n)
+                .lastName("Last" + (n % 1000))
+                .email("employee" + n + "@bench.vcs.com")
+                .build();
+    }
+}
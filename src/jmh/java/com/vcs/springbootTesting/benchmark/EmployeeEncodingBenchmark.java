@@ -0,0 +1,87 @@
+package com.vcs.springbootTesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.vcs.springbootTesting.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Encode and decode cost of a 1000-employee list per wire format, as EmployeeController negotiates them.
+// The encoded size of every combination is printed by the setup and reported as the "wireBytes" secondary result.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeEncodingBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectReader listReader;
+
+    private List<Employee> employees;
+
+    private byte[] encoded;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class WireSize {
+
+        public long wireBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+
+        // same defaults Spring Boot applies to the ObjectMapper used by EmployeeController
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper = format.equals("cbor") ? jsonMapper.copyWith(new CBORFactory()) : jsonMapper;
+        listReader = objectMapper.readerForListOf(Employee.class);
+        employees = new ArrayList<>();
+        for (long i = 0; i < 1000; i++)
+            employees.add(BenchmarkApplication.employee(i).toBuilder().id(i + 1).version(i % 7).updatedAt(1_700_000_000_000L + i).build());
+        encoded = encode();
+        System.out.printf("%n%s/%s: %d bytes for %d employees%n", format, encoding, encoded.length, employees.size());
+    }
+
+    @Benchmark
+    public byte[] encodeList(WireSize wireSize) throws IOException {
+        byte[] bytes = encode();
+        wireSize.wireBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<Employee> decodeList() throws IOException {
+        try (InputStream in = encoding.equals("gzip") ? new GZIPInputStream(new ByteArrayInputStream(encoded)) : new ByteArrayInputStream(encoded)) {
+            return listReader.readValue(in);
+        }
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            objectMapper.writeValue(out, employees);
+        }
+        return bytes.toByteArray();
+    }
+}
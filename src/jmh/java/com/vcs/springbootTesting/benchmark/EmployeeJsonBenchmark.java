@@ -0,0 +1,55 @@
+package com.vcs.springbootTesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vcs.springbootTesting.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Employee employee;
+
+    private byte[] employeeJson;
+
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() throws IOException {
+        // same defaults Spring Boot applies to the ObjectMapper used by EmployeeController
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employee = BenchmarkApplication.employee(1).toBuilder().id(1L).build();
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+        employees = new ArrayList<>();
+        for (long i = 0; i < 1000; i++)
+            employees.add(BenchmarkApplication.employee(i).toBuilder().id(i + 1).build());
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] serializeEmployeeList() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,77 @@
+package com.vcs.springbootTesting.benchmark;
+
+import com.vcs.springbootTesting.dto.EmployeeSummary;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private AtomicLong nextEmail;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("service-" + rows);
+        BenchmarkApplication.seed(context, rows);
+        employeeService = context.getBean(EmployeeService.class);
+        nextEmail = new AtomicLong(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(BenchmarkApplication.employee(nextEmail.getAndIncrement()));
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(ThreadLocalRandom.current().nextLong(1, rows + 1));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5, time = 10)
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    // projection paths, compare time and gc.alloc.rate.norm against getAllEmployees (managed entities)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5, time = 10)
+    public List<EmployeeSummary> getEmployeeSummaries() {
+        return employeeService.getEmployeeSummaries(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5, time = 10)
+    public List<Map<String, Object>> getEmployeeFields() {
+        return employeeService.getEmployeeFields(List.of("id", "email"));
+    }
+}
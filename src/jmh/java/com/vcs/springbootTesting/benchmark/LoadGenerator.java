@@ -0,0 +1,135 @@
+package com.vcs.springbootTesting.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// Closed-loop HTTP load: a fixed number of clients each send the next request as soon as the previous one returns.
+public class LoadGenerator {
+
+    private final int clients;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    public LoadGenerator(int clients, Duration warmup, Duration duration) {
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    public Result run(String scenario, URI baseUri, Function<ThreadLocalRandom, String> nextPath) throws Exception {
+        return runRequests(scenario, random -> HttpRequest.newBuilder(baseUri.resolve(nextPath.apply(random))).GET().build());
+    }
+
+    // mixed workloads, e.g. writes between the reads
+    public Result runRequests(String scenario, Function<ThreadLocalRandom, HttpRequest> nextRequest) throws Exception {
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            runClients(executor, httpClient, nextRequest, warmup);
+            long start = System.nanoTime();
+            List<long[]> latencies = runClients(executor, httpClient, nextRequest, duration);
+            return Result.of(scenario, latencies, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<long[]> runClients(ExecutorService executor, HttpClient httpClient,
+                                    Function<ThreadLocalRandom, HttpRequest> nextRequest, Duration runFor) throws Exception {
+
+        long deadline = System.nanoTime() + runFor.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                LongList samples = new LongList();
+                long errors = 0;
+                while ( System.nanoTime() < deadline ) {
+                    HttpRequest request = nextRequest.apply(ThreadLocalRandom.current());
+                    long begin = System.nanoTime();
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    samples.add(System.nanoTime() - begin);
+                    if ( response.statusCode() >= 400 )
+                        errors++;
+                }
+                // last slot carries the error count for this client
+                samples.add(errors);
+                return samples.toArray();
+            }));
+        }
+
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<long[]> future : futures)
+            latencies.add(future.get());
+        return latencies;
+    }
+
+    public record Result(String scenario, long requests, long errors, double throughput,
+                         double p50Millis, double p99Millis, double maxMillis) {
+
+        static Result of(String scenario, List<long[]> perClient, long elapsedNanos) {
+
+            long errors = 0;
+            int total = 0;
+            for (long[] samples : perClient) {
+                errors += samples[samples.length - 1];
+                total += samples.length - 1;
+            }
+
+            long[] all = new long[total];
+            int offset = 0;
+            for (long[] samples : perClient) {
+                System.arraycopy(samples, 0, all, offset, samples.length - 1);
+                offset += samples.length - 1;
+            }
+            Arrays.sort(all);
+
+            double seconds = elapsedNanos / 1e9;
+            return new Result(scenario, total, errors, total / seconds,
+                    percentile(all, 0.50), percentile(all, 0.99), total == 0 ? 0 : all[total - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if ( sorted.length == 0 )
+                return 0;
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+        }
+
+        public String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"scenario\":\"%s\",\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"maxMillis\":%.3f}",
+                    scenario, requests, errors, throughput, p50Millis, p99Millis, maxMillis);
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[1024];
+
+        private int size;
+
+        void add(long value) {
+            if ( size == values.length )
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
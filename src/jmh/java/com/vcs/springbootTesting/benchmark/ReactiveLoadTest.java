@@ -0,0 +1,54 @@
+package com.vcs.springbootTesting.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares the servlet (Tomcat + JPA) and reactive (Netty + R2DBC) stacks under the same closed-loop load.
+//
+//   mvn -Pbenchmark -DskipTests test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.vcs.springbootTesting.benchmark.ReactiveLoadTest -Dexec.args="2000 30 10000"
+//
+// Arguments: concurrent clients, measured seconds, seeded rows. Results go to target/load-reactive.json.
+public class ReactiveLoadTest {
+
+    public static void main(String[] args) throws Exception {
+
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        LoadGenerator loadGenerator = new LoadGenerator(clients, Duration.ofSeconds(10), duration);
+        List<String> results = new ArrayList<>();
+        results.add(run(loadGenerator, "servlet", WebApplicationType.SERVLET, rows));
+        results.add(run(loadGenerator, "reactive", WebApplicationType.REACTIVE, rows,
+                "spring.profiles.active=reactive"));
+
+        String json = "[" + String.join(",\n", results) + "]\n";
+        Files.writeString(Path.of("target", "load-reactive.json"), json);
+        System.out.print(json);
+    }
+
+    static String run(LoadGenerator loadGenerator, String scenario, WebApplicationType webApplicationType, int rows,
+                      String... properties) throws Exception {
+
+        List<String> allProperties = new ArrayList<>(List.of(properties));
+        allProperties.add("server.port=0");
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "load-" + scenario, webApplicationType, allProperties.toArray(String[]::new))) {
+            BenchmarkApplication.seed(context, rows);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+
+            // lookups by id only, the reactive stack has no paged list endpoint
+            return loadGenerator.run(scenario, baseUri, random -> "/api/employees/" + random.nextInt(1, rows + 1)).toJson();
+        }
+    }
+}
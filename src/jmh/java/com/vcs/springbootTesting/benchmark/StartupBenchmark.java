@@ -0,0 +1,161 @@
+package com.vcs.springbootTesting.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.jar.JarFile;
+
+// Time to ready and resident memory of the packaged application, per startup mode. Every run is a fresh process
+// against its own in-memory H2 database; "ready" is the first 200 from /actuator/health.
+//
+//   mvn -DskipTests package                       (or -Paot package for the AOT scenarios)
+//   mvn -Pbenchmark -DskipTests test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.vcs.springbootTesting.benchmark.StartupBenchmark \
+//       -Dexec.args="target/springboot-testing-0.0.1-SNAPSHOT.jar 5 [target/springboot-testing]"
+//
+// Arguments: application jar, runs per scenario, optionally a native executable (mvn -Pnative native:compile).
+// The AOT scenarios only run when the jar was AOT-processed. Results (medians) go to target/startup.json.
+// Resident memory is read from /proc and reported as -1 on other platforms.
+public class StartupBenchmark {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final String AOT_INITIALIZER = "BOOT-INF/classes/com/vcs/springbootTesting/SpringbootTestingApplication__ApplicationContextInitializer.class";
+
+    private record Scenario(String name, List<String> command) {
+    }
+
+    private record Sample(long readyMillis, long rssKilobytes) {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Path jar = Path.of(args.length > 0 ? args[0] : "target/springboot-testing-0.0.1-SNAPSHOT.jar");
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path nativeExecutable = args.length > 2 ? Path.of(args[2]) : null;
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("jvm", List.of(java, "-jar", jar.toString())));
+        scenarios.add(new Scenario("jvm-lazy", List.of(java, "-jar", jar.toString(), "--spring.profiles.active=lazy")));
+        if ( isAotProcessed(jar) ) {
+            scenarios.add(new Scenario("jvm-aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString())));
+            scenarios.add(new Scenario("jvm-aot-lazy", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString(),
+                    "--spring.profiles.active=lazy")));
+        }
+        if ( nativeExecutable != null ) {
+            scenarios.add(new Scenario("native", List.of(nativeExecutable.toString())));
+            scenarios.add(new Scenario("native-lazy", List.of(nativeExecutable.toString(), "--spring.profiles.active=lazy")));
+        }
+
+        List<String> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 0; run < runs; run++)
+                samples.add(start(scenario, run));
+            results.add(toJson(scenario.name(), samples));
+        }
+
+        String json = "[" + String.join(",\n", results) + "]\n";
+        Files.writeString(Path.of("target", "startup.json"), json);
+        System.out.print(json);
+    }
+
+    static Sample start(Scenario scenario, int run) throws Exception {
+
+        int port = freePort();
+        String database = "startup-" + scenario.name() + "-" + run;
+        List<String> command = new ArrayList<>(scenario.command());
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).GET().build();
+
+        long begin = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = begin + READY_TIMEOUT.toNanos();
+            while ( !isUp(httpClient, health) ) {
+                if ( !process.isAlive() )
+                    throw new IllegalStateException(scenario.name() + " exited with " + process.exitValue() + " before it was ready");
+                if ( System.nanoTime() > deadline )
+                    throw new IllegalStateException(scenario.name() + " was not ready within " + READY_TIMEOUT);
+                Thread.sleep(10);
+            }
+            long readyMillis = (System.nanoTime() - begin) / 1_000_000;
+            return new Sample(readyMillis, rssKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static boolean isUp(HttpClient httpClient, HttpRequest health) {
+        try {
+            return httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long rssKilobytes(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status))
+                if ( line.startsWith("VmRSS:") )
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+        } catch (IOException e) {
+            // not Linux
+        }
+        return -1;
+    }
+
+    private static boolean isAotProcessed(Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String toJson(String scenario, List<Sample> samples) {
+        long[] ready = samples.stream().mapToLong(Sample::readyMillis).sorted().toArray();
+        long[] rss = samples.stream().mapToLong(Sample::rssKilobytes).sorted().toArray();
+        return String.format(Locale.ROOT, "{\"scenario\":\"%s\",\"runs\":%d,\"readyMillis\":%d,\"rssMegabytes\":%.1f,\"readyMillisAll\":%s}",
+                scenario, samples.size(), median(ready), median(rss) < 0 ? -1.0 : median(rss) / 1024.0, Arrays.toString(ready));
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,67 @@
+package com.vcs.springbootTesting.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares the platform-thread and virtual-thread request execution modes under the same closed-loop load.
+//
+//   mvn -Pbenchmark -DskipTests test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.vcs.springbootTesting.benchmark.ThreadingLoadTest -Dexec.args="400 30 10000"
+//
+// Arguments: concurrent clients, measured seconds, seeded rows. Results go to target/load-threading.json.
+// Needs a Java 21 runtime: on older ones Spring Boot silently falls back to platform threads for the second scenario.
+public class ThreadingLoadTest {
+
+    public static void main(String[] args) throws Exception {
+
+        requireVirtualThreads();
+
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        LoadGenerator loadGenerator = new LoadGenerator(clients, Duration.ofSeconds(10), duration);
+        List<String> results = new ArrayList<>();
+        results.add(run(loadGenerator, "platform-threads", rows,
+                "spring.threads.virtual.enabled=false"));
+        results.add(run(loadGenerator, "virtual-threads", rows,
+                "spring.profiles.active=virtual-threads"));
+
+        String json = "[" + String.join(",\n", results) + "]\n";
+        Files.writeString(Path.of("target", "load-threading.json"), json);
+        System.out.print(json);
+    }
+
+    private static void requireVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need Java 21, this is Java " + Runtime.version().feature()
+                    + ": run the load test on a JDK 21 or later");
+        }
+    }
+
+    static String run(LoadGenerator loadGenerator, String scenario, int rows, String... properties) throws Exception {
+
+        List<String> allProperties = new ArrayList<>(List.of(properties));
+        allProperties.add("server.port=0");
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "load-" + scenario, WebApplicationType.SERVLET, allProperties.toArray(String[]::new))) {
+            BenchmarkApplication.seed(context, rows);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+
+            return loadGenerator.run(scenario, baseUri, random -> random.nextInt(10) == 0
+                    ? "/api/employees?limit=100&after=" + random.nextInt(rows)
+                    : "/api/employees/" + random.nextInt(1, rows + 1)).toJson();
+        }
+    }
+}
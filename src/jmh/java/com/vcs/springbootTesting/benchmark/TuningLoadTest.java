@@ -0,0 +1,93 @@
+package com.vcs.springbootTesting.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Measures EmployeeController throughput as the settings of application-prod.properties are switched on one group
+// at a time, each scenario keeping the ones before it.
+//
+//   mvn -Pbenchmark -DskipTests test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.vcs.springbootTesting.benchmark.TuningLoadTest -Dexec.args="64 30 10000"
+//
+// Arguments: concurrent clients, measured seconds, seeded rows. Results go to target/load-tuning.json.
+// Runs on in-memory H2, so the Connector/J settings (prepared statement cache, batch rewriting) are not part of
+// it; they only apply to MySQL. The employee cache is disabled so every read reaches the database.
+public class TuningLoadTest {
+
+    private static final List<Scenario> SCENARIOS = List.of(
+            new Scenario("baseline",
+                    "spring.jpa.show-sql=true"),
+            new Scenario("no-statement-logging",
+                    "spring.jpa.show-sql=false"),
+            new Scenario("no-open-in-view",
+                    "spring.jpa.open-in-view=false"),
+            new Scenario("fixed-pool",
+                    "spring.datasource.hikari.maximum-pool-size=20",
+                    "spring.datasource.hikari.minimum-idle=20"),
+            new Scenario("provider-disables-autocommit",
+                    "spring.datasource.hikari.auto-commit=false",
+                    "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true"),
+            new Scenario("jdbc-batching",
+                    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                    "spring.jpa.properties.hibernate.order_inserts=true",
+                    "spring.jpa.properties.hibernate.order_updates=true"),
+            new Scenario("query-plan-cache",
+                    "spring.jpa.properties.hibernate.query.plan_cache_max_size=4096"));
+
+    private record Scenario(String name, String... properties) {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        LoadGenerator loadGenerator = new LoadGenerator(clients, Duration.ofSeconds(10), duration);
+        List<String> results = new ArrayList<>();
+        List<String> properties = new ArrayList<>(List.of("employee.cache.maximum-size=0", "server.port=0"));
+        for (Scenario scenario : SCENARIOS) {
+            properties.addAll(List.of(scenario.properties()));
+            results.add(run(loadGenerator, scenario.name(), rows, properties));
+        }
+
+        String json = "[" + String.join(",\n", results) + "]\n";
+        Files.writeString(Path.of("target", "load-tuning.json"), json);
+        System.out.print(json);
+    }
+
+    static String run(LoadGenerator loadGenerator, String scenario, int rows, List<String> properties) throws Exception {
+
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "tuning-" + scenario, WebApplicationType.SERVLET, properties.toArray(String[]::new))) {
+            BenchmarkApplication.seed(context, rows);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+            AtomicLong created = new AtomicLong();
+
+            // 80% reads by id, 10% keyset pages, 10% creates
+            return loadGenerator.runRequests(scenario, random -> {
+                int dice = random.nextInt(10);
+                if ( dice == 0 )
+                    return HttpRequest.newBuilder(baseUri.resolve("/api/employees?limit=100&after=" + random.nextInt(rows))).GET().build();
+                if ( dice == 1 )
+                    return HttpRequest.newBuilder(baseUri.resolve("/api/employees"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"load" + created.incrementAndGet() + "@bench.vcs.com\"}"))
+                            .build();
+                return HttpRequest.newBuilder(baseUri.resolve("/api/employees/" + random.nextInt(1, rows + 1))).GET().build();
+            }).toJson();
+        }
+    }
+}
@@ -1,13 +1,45 @@
 package com.vcs.springbootTesting;
 
+import com.vcs.springbootTesting.datasource.ReplicaLagMonitor;
+import com.vcs.springbootTesting.export.EmployeeExporter;
+import com.vcs.springbootTesting.idempotency.IdempotencyStore;
+import com.vcs.springbootTesting.importer.EmployeeImportRunner;
+import com.vcs.springbootTesting.outbox.EmployeeOutbox;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(SpringbootTestingApplication.MigrationRuntimeHints.class)
 public class SpringbootTestingApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SpringbootTestingApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(SpringbootTestingApplication.class, args);
+		// a command-line import is finished once run returns, its runner supplies the exit code
+		if ( context.getBeanNamesForType(EmployeeImportRunner.class).length > 0 )
+			System.exit(SpringApplication.exit(context));
 	}
 
+	// @Scheduled methods are only registered once their bean exists, lazy initialization (profile "lazy") must not defer them
+	@Bean
+	static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+		return LazyInitializationExcludeFilter.forBeanTypes(EmployeeOutbox.class, IdempotencyStore.class, EmployeeExporter.class,
+				ReplicaLagMonitor.class);
+	}
+
+	// native images only contain the resources registered here, Boot's own hint does not cover the per-vendor directories
+	static class MigrationRuntimeHints implements RuntimeHintsRegistrar {
+
+		@Override
+		public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+			hints.resources().registerPattern("db/migration/*/*.sql");
+		}
+	}
 }
@@ -0,0 +1,157 @@
+package com.vcs.springbootTesting.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vcs.springbootTesting.model.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bounded read-through cache in front of EmployeeRepository, keyed by id with a secondary email index.
+// The email index only ever points at ids that are cached, so evicting an id also drops its email.
+@Component
+public class EmployeeCache implements MeterBinder {
+
+    private final Cache<Long, Employee> employeesById;
+
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+
+    // ids evicted by a write within refill-delay, a read from a lagging replica could still return their old row
+    private final Cache<Long, Boolean> recentlyEvicted;
+
+    // highest version put or evicted per id (Long.MAX_VALUE once deleted), kept as long as an entry would live. A read
+    // that raced a write loaded an older row, it must neither replace the newer one nor come back after an evict
+    private final Cache<Long, Long> versionFloors;
+
+    public EmployeeCache(long maximumSize, Duration expireAfterWrite) {
+        this(maximumSize, expireAfterWrite, Duration.ZERO);
+    }
+
+    @Autowired
+    public EmployeeCache(@Value("${employee.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${employee.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                         @Value("${employee.cache.refill-delay:0s}") Duration refillDelay) {
+        this.employeesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .evictionListener((Long id, Employee employee, RemovalCause cause) -> removeEmail(employee, id))
+                .build();
+        this.recentlyEvicted = refillDelay.isZero() || refillDelay.isNegative() ? null
+                : Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(refillDelay).build();
+        this.versionFloors = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(refillDelay.compareTo(expireAfterWrite) > 0 ? refillDelay : expireAfterWrite)
+                .build();
+    }
+
+    public Optional<Employee> get(long id) {
+        return Optional.ofNullable(employeesById.getIfPresent(id)).map(EmployeeCache::copyOf);
+    }
+
+    public Optional<Employee> getByEmail(String email) {
+
+        if ( email == null )
+            return Optional.empty();
+
+        Long id = idsByEmail.get(emailKey(email));
+        if ( id == null )
+            return Optional.empty();
+
+        return get(id).filter(employee -> email.equalsIgnoreCase(employee.getEmail()));
+    }
+
+    public void put(Employee employee) {
+        store(copyOf(employee));
+    }
+
+    // caches what a read loaded, unless a write evicted the id too recently for the read to be trusted
+    public void fill(Employee employee) {
+        if ( recentlyEvicted == null || recentlyEvicted.getIfPresent(employee.getId()) == null )
+            store(copyOf(employee));
+    }
+
+    public void evict(long id) {
+        evict(id, false);
+    }
+
+    // ids are never reused, no read may bring a deleted row back
+    public void evictDeleted(long id) {
+        evict(id, true);
+    }
+
+    // the version check, the replacement and the floor update all happen under the id's lock in the cache
+    private void store(Employee cached) {
+        employeesById.asMap().compute(cached.getId(), (id, previous) -> {
+            Long floor = versionFloors.getIfPresent(id);
+            if ( (floor != null && cached.getVersion() < floor) || (previous != null && cached.getVersion() < previous.getVersion()) )
+                return previous;
+            versionFloors.put(id, cached.getVersion());
+            // an update that changed the email must not leave the old address pointing at this id
+            if ( previous != null && !emailKey(previous.getEmail()).equals(emailKey(cached.getEmail())) )
+                removeEmail(previous, id);
+            if ( cached.getEmail() != null )
+                idsByEmail.put(emailKey(cached.getEmail()), id);
+            return cached;
+        });
+    }
+
+    private void evict(long id, boolean deleted) {
+        employeesById.asMap().compute(id, (key, previous) -> {
+            removeEmail(previous, key);
+            if ( deleted || previous != null )
+                versionFloors.asMap().merge(key, deleted ? Long.MAX_VALUE : previous.getVersion(), Math::max);
+            return null;
+        });
+        if ( recentlyEvicted != null )
+            recentlyEvicted.put(id, Boolean.TRUE);
+    }
+
+    public void clear() {
+        employeesById.invalidateAll();
+        idsByEmail.clear();
+    }
+
+    public CacheStats stats() {
+        return employeesById.stats();
+    }
+
+    public Cache<Long, Employee> nativeCache() {
+        return employeesById;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, employeesById, "employees");
+        Gauge.builder("employee.cache.email.index.size", idsByEmail, Map::size)
+                .description("Emails currently resolvable from the employee cache")
+                .register(registry);
+    }
+
+    private void removeEmail(Employee employee, Long id) {
+        if ( employee != null && employee.getEmail() != null && id != null )
+            idsByEmail.remove(emailKey(employee.getEmail()), id);
+    }
+
+    // MySQL compares emails case-insensitively, the index (and anything else keyed by email) has to agree with it
+    public static String emailKey(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+
+    // callers mutate the entities they get back (see EmployeeController.updateEmployee), never hand out the cached instance
+    private static Employee copyOf(Employee employee) {
+        return employee.toBuilder().build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.vcs.springbootTesting.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Collapses concurrent loads of the same key into one: the first caller runs the loader, callers that arrive while
+// it is in flight wait for its result instead of issuing their own query. Nothing is kept once the load completes,
+// that is EmployeeCache's job. ConcurrentHashMap only locks a bin on collisions, distinct keys never wait on each other.
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("employee.singleflight.loads")
+                .description("Loads that ran a query")
+                .tag("lookup", name)
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("employee.singleflight.collapsed")
+                .description("Loads that joined a query already in flight for the same key")
+                .tag("lookup", name)
+                .register(meterRegistry);
+        Gauge.builder("employee.singleflight.in.flight", inFlight, Map::size)
+                .description("Queries currently in flight")
+                .tag("lookup", name)
+                .register(meterRegistry);
+    }
+
+    // every caller of the same flight gets the same instance, hand out copies if it is mutable
+    public V load(K key, Supplier<V> loader) {
+
+        CompletableFuture<V> owned = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, owned);
+        if ( running != null ) {
+            collapsed.increment();
+            return await(running);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            owned.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            owned.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+
+    // a write to the key: callers arriving from now on start a new flight instead of joining one that may predate it
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public double collapsedCount() {
+        return collapsed.count();
+    }
+
+    public double loadCount() {
+        return loads.count();
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if ( e.getCause() instanceof RuntimeException cause )
+                throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.vcs.springbootTesting.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+// gzip for the strongly validated employee reads, which Tomcat's own server.compression leaves alone (see GzipETagFilter).
+// Follows server.compression.enabled and min-response-size.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CompressionConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<GzipETagFilter> gzipETagFilter(
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        FilterRegistrationBean<GzipETagFilter> registration = new FilterRegistrationBean<>(new GzipETagFilter(minResponseSize.toBytes()));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        // inside the throttle and read-your-writes filters, the buffered body is released before they return
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 200);
+        return registration;
+    }
+}
@@ -1,54 +1,281 @@
 package com.vcs.springbootTesting.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeChangePage;
+import com.vcs.springbootTesting.dto.EmployeeImportReport;
+import com.vcs.springbootTesting.dto.EmployeeLookup;
+import com.vcs.springbootTesting.dto.EmployeeSearchResult;
+import com.vcs.springbootTesting.dto.EmployeeSummary;
+import com.vcs.springbootTesting.dto.IdempotentResponse;
+import com.vcs.springbootTesting.exception.IdempotencyKeyReusedException;
+import com.vcs.springbootTesting.exception.SearchIndexNotReadyException;
+import com.vcs.springbootTesting.idempotency.IdempotencyStore;
+import com.vcs.springbootTesting.importer.EmployeeImporter;
 import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
 import com.vcs.springbootTesting.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController {
 
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+
+    // same as the largest keyset page
+    static final int LIST_PAGE_SIZE = 1000;
+
+    static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+
+    static final MediaType APPLICATION_CBOR_SEQ = MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE);
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // the idempotency_keys primary key column
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private IdempotencyStore idempotencyStore;
+
+    private EmployeeImporter employeeImporter;
+
+    private ObjectMapper objectMapper;
+
+    // same configuration and modules as objectMapper, CBOR encoded
+    private ObjectMapper cborMapper;
+
+    private final int maxBatchSize;
+
+    public EmployeeController(EmployeeService employeeService, IdempotencyStore idempotencyStore, EmployeeImporter employeeImporter,
+                              ObjectMapper objectMapper, @Value("${employee.batch.max-size:1000}") int maxBatchSize) {
         this.employeeService = employeeService;
+        this.idempotencyStore = idempotencyStore;
+        this.employeeImporter = employeeImporter;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
     }
 
+    // with an Idempotency-Key, retries (and concurrent duplicates) get the first response back instead of a second write
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee) {
-        return employeeService.saveEmployee(employee);
+    public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee,
+                                                   @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+
+        if ( idempotencyKey == null )
+            return new ResponseEntity<>(employeeService.saveEmployee(employee), HttpStatus.CREATED);
+
+        if ( idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH )
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key must have 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+
+        IdempotentResponse response = idempotencyStore.execute(idempotencyKey, IdempotencyStore.fingerprintOf(employee),
+                () -> new IdempotentResponse(HttpStatus.CREATED.value(), employeeService.saveEmployee(employee), false));
+        return ResponseEntity.status(response.getStatus())
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(response.isReplayed()))
+                .body(response.getEmployee());
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<EmployeeBatchResult> createEmployees(@RequestBody List<Employee> employees) {
+
+        // the whole batch is one transaction, anything bigger goes through the chunked import
+        if ( employees.size() > maxBatchSize )
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + maxBatchSize + " employees per batch, use POST /api/employees/import for more");
+        return employeeService.saveEmployees(employees);
     }
 
+    // HR extracts of any size: the body is read as it arrives (optionally gzip-compressed), never buffered whole
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public EmployeeImportReport importEmployees(InputStream body,
+                                                @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) throws IOException {
+
+        EmployeeImporter.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? EmployeeImporter.Format.NDJSON : EmployeeImporter.Format.CSV;
+        InputStream input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        try {
+            return employeeImporter.importEmployees(input, format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // One handler for every GET on the collection, so that combined query parameters are a 400 rather than an ambiguous
+    // mapping: at most one of fields, ids, limit (with an optional after) and email
     @GetMapping
+    public ResponseEntity<?> getEmployees(@RequestParam(value = "fields", required = false) List<String> fields,
+                                          @RequestParam(value = "ids", required = false) List<Long> ids,
+                                          @RequestParam(value = "limit", required = false) Integer limit,
+                                          @RequestParam(value = "after", required = false) Long after,
+                                          @RequestParam(value = "email", required = false) String email,
+                                          WebRequest webRequest) {
+
+        long selectors = Stream.of(fields, ids, limit, email).filter(Objects::nonNull).count();
+        if ( selectors > 1 )
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only one of fields, ids, limit and email can be given");
+        if ( after != null && limit == null )
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after needs limit");
+
+        if ( fields != null )
+            return ResponseEntity.ok(getEmployeeFields(fields));
+        if ( ids != null )
+            return ResponseEntity.ok(lookup(ids));
+        if ( limit != null )
+            return ResponseEntity.ok(employeeService.getEmployeesAfter(after == null ? 0 : after, limit));
+        if ( email != null )
+            return conditional(employeeService.getEmployeeByEmail(email));
+        return getAllEmployees(webRequest);
+    }
+
+    // the newest commit seq of the change log versions the whole table, an unchanged list is answered with 304 without loading it.
+    // At most LIST_PAGE_SIZE employees, a Link rel="next" points to the keyset pages for the rest
+    private ResponseEntity<List<EmployeeSummary>> getAllEmployees(WebRequest webRequest) {
+
+        Optional<EmployeeChange> version = employeeService.getEmployeesVersion();
+        if ( version.isEmpty() )
+            return firstPage(ResponseEntity.ok());
+
+        String eTag = eTag(version.get().getCommitSeq());
+        long lastModified = version.get().getChangedAt();
+        if ( webRequest.checkNotModified(eTag, lastModified) )
+            return null;
+
+        return firstPage(ResponseEntity.ok().eTag(eTag).lastModified(lastModified));
+    }
+
+    private ResponseEntity<List<EmployeeSummary>> firstPage(ResponseEntity.BodyBuilder response) {
+
+        // one extra row tells whether there is more without a count query
+        List<EmployeeSummary> summaries = employeeService.getEmployeeSummaries(LIST_PAGE_SIZE + 1);
+        if ( summaries.size() <= LIST_PAGE_SIZE )
+            return response.body(summaries);
+
+        summaries = summaries.subList(0, LIST_PAGE_SIZE);
+        URI next = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .queryParam("after", summaries.get(LIST_PAGE_SIZE - 1).getId())
+                .queryParam("limit", LIST_PAGE_SIZE)
+                .build().toUri();
+        return response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"").body(summaries);
+    }
+
+    // e.g. ?fields=id,email for directory views that only need a few columns
+    private List<Map<String, Object>> getEmployeeFields(List<String> fields) {
+        try {
+            return employeeService.getEmployeeFields(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // ?ids=1,2,3 for org charts, one query for every id the cache does not hold.
+    // Same lookup for id sets too long for a query string
+    @PostMapping("/lookup")
+    @ResponseStatus(HttpStatus.OK)
+    public EmployeeLookup lookupEmployees(@RequestBody List<Long> ids) {
+        return lookup(ids);
+    }
+
+    private EmployeeLookup lookup(List<Long> ids) {
+        try {
+            return employeeService.getEmployeesByIds(ids);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // NDJSON by default, an RFC 8742 CBOR sequence (items back to back, no separator) when asked for
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_CBOR_SEQ_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamEmployees(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        boolean cbor = accept != null && MediaType.parseMediaTypes(accept).stream().anyMatch(APPLICATION_CBOR_SEQ::equalsTypeAndSubtype);
+        ObjectWriter objectWriter = cbor ? cborMapper.writer() : objectMapper.writer().withRootValueSeparator("\n");
+
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream);
+            try (SequenceWriter writer = objectWriter.writeValues(out)) {
+                int[] written = {0};
+                employeeService.streamAllEmployees(employee -> {
+                    try {
+                        writer.write(employee);
+                        if ( ++written[0] % STREAM_FLUSH_INTERVAL == 0 )
+                            writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                // the separator is only written between values, terminate the last line as well
+                writer.flush();
+                if ( !cbor && written[0] > 0 )
+                    out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(cbor ? APPLICATION_CBOR_SEQ : MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // incremental alternative to polling the full list: changes after "since", in commit order.
+    // With wait (seconds) > 0 the request is held until a change commits or the wait runs out (long poll)
+    @GetMapping("/changes")
+    public CompletableFuture<EmployeeChangePage> getChanges(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                            @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                            @RequestParam(value = "wait", defaultValue = "0") long waitSeconds) {
+        return employeeService.getChangesSince(since, limit, Duration.ofSeconds(waitSeconds));
+    }
+
+    @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public EmployeeSearchResult searchEmployees(@RequestParam("q") String query,
+                                                @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return employeeService.searchEmployees(query, limit);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long id) {
-
-        return employeeService.getEmployeeById(id)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        return conditional(employeeService.getEmployeeById(id));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long id, @RequestBody Employee employee ) {
-        return employeeService.getEmployeeById(id)
-                .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-                })
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long id, @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.updateEmployee(id, employee, parseVersion(ifMatch))
+                .map(updatedEmployee -> new ResponseEntity<>(updatedEmployee, HttpStatus.OK))
                 .orElseGet(() -> ResponseEntity.notFound().build());
 
     }
@@ -58,4 +285,64 @@ public class EmployeeController {
         employeeService.deleteEmployee(id);
         return new ResponseEntity<String>("Employee deleted successfully.", HttpStatus.OK);
     }
+
+    // If-None-Match / If-Modified-Since are checked against these headers, a match is answered with 304 and no body
+    private static ResponseEntity<Employee> conditional(Optional<Employee> employee) {
+        return employee
+                .map(found -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag(found.getVersion()));
+                    if ( found.getUpdatedAt() > 0 )
+                        response.lastModified(found.getUpdatedAt());
+                    return response.body(found);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // strong validator, the same number PUT accepts back in If-Match
+    static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match carries the version the client last read, as a plain or quoted number. It is compared strongly
+    // (RFC 9110 13.1.1), a weak tag never matches
+    static Long parseVersion(String ifMatch) {
+
+        if ( ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*") )
+            return null;
+
+        String version = ifMatch.trim();
+        if ( version.startsWith("W/") )
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match needs the strong ETag of the employee");
+        // the tag of the gzip representation (GzipETagFilter) names the same version
+        version = version.replace("\"", "");
+        if ( version.endsWith(GzipETagFilter.GZIP_SUFFIX) )
+            version = version.substring(0, version.length() - GzipETagFilter.GZIP_SUFFIX.length());
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must carry the employee version");
+        }
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<String> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    // the index loads right after startup, a few seconds on a large table
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    public ResponseEntity<String> handleSearchIndexNotReady(SearchIndexNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return new ResponseEntity<String>("Employee was modified concurrently, reload it and retry.", HttpStatus.CONFLICT);
+    }
+
+    // e.g. a batch racing a concurrent create on the unique email index
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        return new ResponseEntity<String>("Employee violates a uniqueness or integrity constraint.", HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,152 @@
+package com.vcs.springbootTesting.controller;
+
+import com.vcs.springbootTesting.dto.EmployeeExport;
+import com.vcs.springbootTesting.export.EmployeeExporter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Table dumps for nightly jobs, instead of GET /api/employees: POST writes a file, GET serves it. Downloads support
+// single byte ranges (resumable transfers) and go out through Tomcat's sendfile, i.e. FileChannel.transferTo onto the
+// socket, so file bytes never enter the heap.
+@RestController
+@RequestMapping("/api/employees/exports")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EmployeeExportController {
+
+    // request attributes of Tomcat's sendfile support (org.apache.catalina.Globals), set for the connector to pick up
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private EmployeeExporter employeeExporter;
+
+    public EmployeeExportController(EmployeeExporter employeeExporter) {
+        this.employeeExporter = employeeExporter;
+    }
+
+    // runs the export in the request, the response describes the finished file
+    @PostMapping
+    public ResponseEntity<EmployeeExport> createExport(@RequestParam(value = "format", defaultValue = "csv") String format) throws IOException {
+
+        EmployeeExport export = employeeExporter.export(parseFormat(format));
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{name}").buildAndExpand(export.getName()).toUri();
+        return ResponseEntity.created(location).body(export);
+    }
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public List<EmployeeExport> getExports() throws IOException {
+        return employeeExporter.listExports();
+    }
+
+    @GetMapping("/latest")
+    public void getLatestExport(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        EmployeeExport export = employeeExporter.latestExport(parseFormat(format))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No " + format + " export yet"));
+        getExport(export.getName(), request, response);
+    }
+
+    @GetMapping("/{name}")
+    public void getExport(@PathVariable("name") String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        Path file = employeeExporter.exportFile(name)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No export named " + name));
+        long length = Files.size(file);
+        // exports are never rewritten, name and size identify the content
+        String eTag = "\"" + name + "-" + length + "\"";
+        if ( new ServletWebRequest(request, response).checkNotModified(eTag, Files.getLastModifiedTime(file).toMillis()) )
+            return;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name).build().toString());
+        response.setContentType(EmployeeExporter.formatOf(name).mediaType());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if ( range != null && (ifRange == null || ifRange.equals(eTag)) ) {
+            List<HttpRange> ranges = parseRanges(range);
+            // multipart/byteranges is not worth it for these clients, several ranges get the whole file
+            if ( ranges.size() == 1 ) {
+                boolean satisfiable;
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    // HttpRange accepts a first byte at or past the end (bytes=<length>-) without complaint
+                    satisfiable = start < length && start <= end;
+                } catch (IllegalArgumentException e) {
+                    satisfiable = false;
+                }
+                if ( !satisfiable ) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start + 1);
+        if ( end < start )
+            return;
+
+        if ( Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED)) ) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        // without sendfile (other containers, sendfile disabled on the connector) the copy goes through transferTo's small buffer
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while ( position <= end )
+                position += channel.transferTo(position, end + 1 - position, out);
+        }
+    }
+
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // a malformed Range header is ignored
+            return List.of();
+        }
+    }
+
+    private static EmployeeExporter.Format parseFormat(String format) {
+        try {
+            return EmployeeExporter.Format.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.vcs.springbootTesting.controller;
+
+import com.vcs.springbootTesting.dto.EmployeeWriteStatus;
+import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.writebehind.EmployeeWriteBehindQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+// Asynchronous counterparts of POST and PUT /api/employees, enabled with employee.write-behind.enabled=true.
+@RestController
+@RequestMapping("/api/employees/write-behind")
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindController {
+
+    private EmployeeWriteBehindQueue employeeWriteBehindQueue;
+
+    public EmployeeWriteBehindController(EmployeeWriteBehindQueue employeeWriteBehindQueue) {
+        this.employeeWriteBehindQueue = employeeWriteBehindQueue;
+    }
+
+    @PostMapping
+    public ResponseEntity<EmployeeWriteStatus> createEmployee(@RequestBody Employee employee) {
+        return accepted(employeeWriteBehindQueue.submitCreate(employee));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<EmployeeWriteStatus> updateEmployee(@PathVariable("id") long id, @RequestBody Employee employee,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return accepted(employeeWriteBehindQueue.submitUpdate(id, employee, EmployeeController.parseVersion(ifMatch)));
+    }
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<EmployeeWriteStatus> getWriteStatus(@PathVariable("trackingId") String trackingId) {
+
+        return employeeWriteBehindQueue.status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<EmployeeWriteStatus> accepted(EmployeeWriteStatus status) {
+
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/employees/write-behind/{trackingId}")
+                .buildAndExpand(status.getTrackingId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    // backpressure: the queue is full, the client should slow down and retry
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedWrite(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Too many pending employee writes, retry later.");
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleDuplicateEmail(ResourceNotFoundException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidEmployee(IllegalArgumentException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+}
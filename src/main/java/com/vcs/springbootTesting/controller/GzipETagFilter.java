@@ -0,0 +1,124 @@
+package com.vcs.springbootTesting.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+// Tomcat never compresses a response carrying a strong ETag, and 10.1 has no switch for it. The conditional employee
+// reads keep their strong validators (If-Match needs them) and get gzipped here instead, each encoding under a tag of
+// its own: "<version>" for the identity body, "<version>-gzip" for the gzip one. Tags the client sends back in
+// If-None-Match are mapped to the identity form before the controller compares them.
+public class GzipETagFilter extends OncePerRequestFilter {
+
+    static final String GZIP_SUFFIX = "-gzip";
+
+    // the list and single-employee reads only: everything else streams or answers asynchronously and must not be buffered
+    private static final Pattern CONDITIONAL_READS = Pattern.compile("/api/employees(/\\d+)?");
+
+    private final long minResponseSize;
+
+    public GzipETagFilter(long minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                || !CONDITIONAL_READS.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches()
+                || !acceptsGzip(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        boolean clientHasGzip = ifNoneMatch != null && ifNoneMatch.contains(GZIP_SUFFIX + "\"");
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(new IdentityValidatorRequest(request), cachingResponse);
+
+        String eTag = cachingResponse.getHeader(HttpHeaders.ETAG);
+        if ( eTag == null || eTag.startsWith("W/") || !eTag.endsWith("\"") ) {
+            cachingResponse.copyBodyToResponse();
+            return;
+        }
+        cachingResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // a 304 names the representation the client holds
+        if ( cachingResponse.getStatus() == HttpStatus.NOT_MODIFIED.value() ) {
+            if ( clientHasGzip )
+                cachingResponse.setHeader(HttpHeaders.ETAG, gzipETag(eTag));
+            cachingResponse.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = cachingResponse.getContentAsByteArray();
+        if ( cachingResponse.getStatus() != HttpStatus.OK.value() || body.length < minResponseSize ) {
+            cachingResponse.copyBodyToResponse();
+            return;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        response.setHeader(HttpHeaders.ETAG, gzipETag(eTag));
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setContentLength(compressed.size());
+        if ( !"HEAD".equals(request.getMethod()) )
+            compressed.writeTo(response.getOutputStream());
+    }
+
+    private static String gzipETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        for (Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING); values.hasMoreElements(); ) {
+            for (String coding : values.nextElement().split(",")) {
+                String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+                if ( parts[0].trim().equals("gzip") && !(parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?")) )
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private static class IdentityValidatorRequest extends HttpServletRequestWrapper {
+
+        IdentityValidatorRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return value != null && HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? identity(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if ( !HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) )
+                return super.getHeaders(name);
+            return Collections.enumeration(Collections.list(super.getHeaders(name)).stream().map(IdentityValidatorRequest::identity).toList());
+        }
+
+        private static String identity(String value) {
+            return value.replace(GZIP_SUFFIX + "\"", "\"");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.vcs.springbootTesting.controller;
+
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.service.ReactiveEmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same endpoints as EmployeeController on the non-blocking stack, active when the application runs
+// as a reactive web application (profile "reactive").
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService reactiveEmployeeService) {
+        this.reactiveEmployeeService = reactiveEmployeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+        return reactiveEmployeeService.saveEmployee(employee);
+    }
+
+    // a JSON array by default, one object per line for application/x-ndjson; both follow the client's demand
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> getAllEmployees() {
+        return reactiveEmployeeService.getAllEmployees();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamEmployees() {
+        return reactiveEmployeeService.getAllEmployees();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") long id) {
+
+        return reactiveEmployeeService.getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") long id, @RequestBody Employee employee,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return reactiveEmployeeService.updateEmployee(id, employee, EmployeeController.parseVersion(ifMatch))
+                .map(updatedEmployee -> new ResponseEntity<>(updatedEmployee, HttpStatus.OK))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long id) {
+        return reactiveEmployeeService.deleteEmployee(id)
+                .thenReturn(new ResponseEntity<String>("Employee deleted successfully.", HttpStatus.OK));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return new ResponseEntity<String>("Employee was modified concurrently, reload it and retry.", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        return new ResponseEntity<String>("Employee violates a uniqueness or integrity constraint.", HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,23 @@
+package com.vcs.springbootTesting.datasource;
+
+// Pins the current thread's transactions to the primary, read-only ones included. Set for the requests of a client
+// that wrote recently (ReadYourWritesFilter), so it never reads its own write back from a lagging replica.
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,70 @@
+package com.vcs.springbootTesting.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+// Read-your-writes stickiness: a mutating request hands the client a cookie holding the time until which its requests
+// read from the primary. Stateless, so it holds across instances; clients that drop cookies get replica reads.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PRIMARY_UNTIL_COOKIE = "employee-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long now = System.currentTimeMillis();
+        boolean mutating = !SAFE_METHODS.contains(request.getMethod());
+        if ( mutating ) {
+            Cookie cookie = new Cookie(PRIMARY_UNTIL_COOKIE, String.valueOf(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds() + 1));
+            response.addCookie(cookie);
+        }
+
+        // reads made by a mutating request itself (duplicate email checks) must see the primary as well
+        if ( !mutating && primaryUntil(request) <= now ) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReadYourWrites.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.unpin();
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+
+        if ( request.getCookies() == null )
+            return 0;
+        for (Cookie cookie : request.getCookies()) {
+            if ( PRIMARY_UNTIL_COOKIE.equals(cookie.getName()) ) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
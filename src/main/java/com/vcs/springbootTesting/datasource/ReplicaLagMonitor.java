@@ -0,0 +1,74 @@
+package com.vcs.springbootTesting.datasource;
+
+import com.vcs.springbootTesting.datasource.ReplicaRoutingDataSource.Replica;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+// Heartbeat lag check: stamps replica_heartbeat on the primary, reads the stamp back from every replica, and takes
+// replicas out of ReplicaRoutingDataSource's rotation while they are unreachable or further behind than max-lag.
+// The lag is measured to within one heartbeat interval; a negative max-lag only checks reachability.
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String BEAT_SQL = "update replica_heartbeat set beat_at = ? where id = 1";
+
+    private static final String READ_BEAT_SQL = "select beat_at from replica_heartbeat where id = 1";
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private JdbcTemplate primaryJdbcTemplate;
+
+    // the primary pool may hand out connections with autocommit off (profile "prod"), the beat needs a commit
+    private TransactionTemplate primaryTransaction;
+
+    private Clock clock;
+
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, MeterRegistry meterRegistry, Clock clock, Duration maxLag) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        this.primaryJdbcTemplate = new JdbcTemplate(replicaRoutingDataSource.getPrimary());
+        this.primaryTransaction = new TransactionTemplate(new DataSourceTransactionManager(replicaRoutingDataSource.getPrimary()));
+        this.clock = clock;
+        this.maxLag = maxLag;
+        for (Replica replica : replicaRoutingDataSource.getReplicas())
+            Gauge.builder("employee.datasource.replica.lag", replica, r -> r.getLagMillis() / 1000.0)
+                    .description("Seconds the replica is behind the primary, negative while unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.datasource.replica.heartbeat-interval:1s}")
+    public void check() {
+
+        long now = clock.millis();
+        try {
+            primaryTransaction.executeWithoutResult(status -> primaryJdbcTemplate.update(BEAT_SQL, now));
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replica heartbeat on the primary", e);
+        }
+
+        for (Replica replica : replicaRoutingDataSource.getReplicas()) {
+            try {
+                Long beatAt = new JdbcTemplate(replica.getDataSource()).queryForObject(READ_BEAT_SQL, Long.class);
+                long lagMillis = Math.max(0, clock.millis() - (beatAt == null ? 0 : beatAt));
+                replica.update(maxLag.isNegative() || lagMillis <= maxLag.toMillis(), lagMillis);
+            } catch (DataAccessException e) {
+                log.debug("Read replica {} is unreachable", replica.getName(), e);
+                replica.update(false, -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.vcs.springbootTesting.datasource;
+
+import com.vcs.springbootTesting.datasource.ReplicaRoutingDataSource.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read/write splitting, on with employee.datasource.replica.enabled=true. spring.datasource.* stays the primary;
+// the replicas share its credentials and spring.datasource.hikari.* settings unless employee.datasource.replica.*
+// overrides them, so auto-commit and the Connector/J properties of profile "prod" hold on every connection.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties, Environment environment,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${employee.datasource.replica.urls}") List<String> urls,
+                                                             @Value("${employee.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                                             @Value("${employee.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                                             @Value("${employee.datasource.replica.migrate:false}") boolean migrate) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i).trim();
+            // replicas are not replicated to locally (embedded H2 stand-ins), give them the schema themselves
+            if ( migrate )
+                Flyway.configure()
+                        .dataSource(url, username, password)
+                        .locations("classpath:db/migration/" + DatabaseDriver.fromJdbcUrl(url).getId())
+                        .load()
+                        .migrate();
+
+            HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                    .url(url).username(username).password(password).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            binder.bind("employee.datasource.replica.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(new Replica("replica-" + i, replica));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, meterRegistry);
+    }
+
+    // what JPA, Flyway and JdbcTemplate use; connections are picked at the first statement, once read-only is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, MeterRegistry meterRegistry,
+                                               @Value("${employee.datasource.replica.max-lag:2s}") Duration maxLag) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, meterRegistry, Clock.systemUTC(), maxLag);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${employee.datasource.replica.read-your-writes:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
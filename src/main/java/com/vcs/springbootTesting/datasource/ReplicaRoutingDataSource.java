@@ -0,0 +1,148 @@
+package com.vcs.springbootTesting.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only transactions go to a read replica, everything else to the primary. Only replicas ReplicaLagMonitor found
+// reachable and within the tolerated lag are used, round robin; with none left, or when a replica refuses the
+// connection, reads fall back to the primary. Must sit behind a LazyConnectionDataSourceProxy: the transaction's
+// read-only flag is only set once it has begun, the connection has to be picked at the first statement.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        // unavailable until the first lag check says otherwise
+        private volatile boolean available;
+
+        private volatile long lagMillis = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        // -1 while unknown
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        void update(boolean available, long lagMillis) {
+            if ( available != this.available )
+                log.info("Read replica {} is {} (lag {} ms)", name, available ? "available" : "unavailable", lagMillis);
+            this.available = available;
+            this.lagMillis = lagMillis;
+        }
+    }
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private Counter primaryConnections;
+
+    private Counter replicaConnections;
+
+    private Counter fallbackConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+        this.replicaConnections = connectionCounter(meterRegistry, "replica");
+        this.fallbackConnections = connectionCounter(meterRegistry, "fallback");
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("employee.datasource.connections")
+                .description("Connections handed out, by where they were routed; fallback is a read sent to the primary")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        if ( !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPinned() ) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+
+        Replica replica = nextAvailableReplica();
+        if ( replica != null ) {
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Read replica {} refused a connection, reading from the primary", replica.getName(), e);
+                replica.update(false, replica.getLagMillis());
+            }
+        }
+        fallbackConnections.increment();
+        return primary.getConnection();
+    }
+
+    // connections are always opened with the configured credentials of each pool
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ReplicaRoutingDataSource does not open connections for other credentials");
+    }
+
+    private Replica nextAvailableReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if ( replica.isAvailable() )
+                return replica;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas)
+            if ( replica.getDataSource() instanceof AutoCloseable closeable )
+                closeable.close();
+        if ( primary instanceof AutoCloseable closeable )
+            closeable.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.model.Employee;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeBatchResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID }
+
+    // position of the row in the submitted batch
+    private int index;
+
+    private Status status;
+
+    private Employee employee;
+
+    private String message;
+}
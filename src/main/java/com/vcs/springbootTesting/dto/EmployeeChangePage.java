@@ -0,0 +1,21 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.model.EmployeeChange;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeChangePage {
+
+    private List<EmployeeChange> changes;
+
+    // commit seq to pass as "since" on the next poll
+    private long nextSince;
+
+    // changes after "since" were already pruned: reload GET /api/employees, then continue from nextSince
+    private boolean resyncRequired;
+}
@@ -0,0 +1,25 @@
+package com.vcs.springbootTesting.dto;
+
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeExport {
+
+    // file name, downloaded from GET /api/employees/exports/{name}
+    private String name;
+
+    private String format;
+
+    private long size;
+
+    // epoch millis the export finished
+    private long createdAt;
+
+    // only known right after the export ran, null when listed
+    private Long rows;
+
+    private Long elapsedMillis;
+}
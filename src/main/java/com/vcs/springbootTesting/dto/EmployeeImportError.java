@@ -0,0 +1,21 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.dto.EmployeeBatchResult.Status;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeImportError {
+
+    // 1-based line of the row in the uploaded file, the CSV header being line 1
+    private long line;
+
+    // DUPLICATE or INVALID
+    private Status status;
+
+    private String email;
+
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.vcs.springbootTesting.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeImportReport {
+
+    // data rows read, blank lines and the CSV header not counted
+    private long rows;
+
+    private long created;
+
+    private long duplicates;
+
+    private long invalid;
+
+    // the first rejected rows in file order, at most employee.import.max-reported-errors of them
+    private List<EmployeeImportError> errors;
+
+    // more rows were rejected than errors lists
+    private boolean errorsTruncated;
+
+    private long elapsedMillis;
+}
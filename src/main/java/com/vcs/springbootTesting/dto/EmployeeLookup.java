@@ -0,0 +1,19 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.model.Employee;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeLookup {
+
+    // in the order the ids were requested, each id once
+    private List<Employee> employees;
+
+    // requested ids with no employee, in request order
+    private List<Long> missingIds;
+}
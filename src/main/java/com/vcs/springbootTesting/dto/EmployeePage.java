@@ -0,0 +1,18 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.model.Employee;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeePage {
+
+    private List<Employee> employees;
+
+    // id to pass as "after" for the next page, null when this is the last page
+    private Long nextCursor;
+}
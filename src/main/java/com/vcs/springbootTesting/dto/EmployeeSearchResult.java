@@ -0,0 +1,18 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.model.Employee;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeSearchResult {
+
+    private List<Employee> employees;
+
+    // the first term matched more employees than the index scores, better matches may be missing: type a longer prefix
+    private boolean truncated;
+}
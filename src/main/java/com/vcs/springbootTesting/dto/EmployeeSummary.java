@@ -0,0 +1,22 @@
+package com.vcs.springbootTesting.dto;
+
+import lombok.*;
+
+// Read-only view of an employee for list responses, built straight from a JPQL constructor expression
+// so no managed entity (and no dirty-checking snapshot) is ever created for it.
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmployeeSummary {
+
+    private long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private long version;
+}
@@ -0,0 +1,27 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.model.Employee;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder(toBuilder = true)
+public class EmployeeWriteStatus {
+
+    public enum Operation { CREATE, UPDATE }
+
+    public enum Status { PENDING, APPLIED, DUPLICATE, NOT_FOUND, CONFLICT, FAILED }
+
+    // handed out with the 202, polled on GET /api/employees/write-behind/{trackingId}
+    private String trackingId;
+
+    private Operation operation;
+
+    private Status status;
+
+    // the submitted employee while pending, the stored one once applied
+    private Employee employee;
+
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.vcs.springbootTesting.dto;
+
+import com.vcs.springbootTesting.model.Employee;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder(toBuilder = true)
+public class IdempotentResponse {
+
+    private int status;
+
+    private Employee employee;
+
+    // true when answered from the store instead of running the request
+    private boolean replayed;
+}
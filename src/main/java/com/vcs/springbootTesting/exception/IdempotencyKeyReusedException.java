@@ -0,0 +1,8 @@
+package com.vcs.springbootTesting.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
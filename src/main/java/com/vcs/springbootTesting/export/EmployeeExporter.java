@@ -0,0 +1,272 @@
+package com.vcs.springbootTesting.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.vcs.springbootTesting.dto.EmployeeExport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Dumps the employees table to a file at constant heap: rows come from a forward-only, read-only JDBC cursor and are
+// written column by column through a Jackson generator onto a FileChannel, no entity or per-row document is built.
+// Files are written under a temporary name and moved into place once complete, so everything listed is whole.
+@Component
+public class EmployeeExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeExporter.class);
+
+    public enum Format {
+
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson"),
+        // RFC 8742 CBOR sequence, the compact binary format GET /api/employees/stream also offers
+        CBOR("cbor", "application/cbor-seq");
+
+        private final String extension;
+
+        private final String mediaType;
+
+        Format(String extension, String mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public static Format of(String name) {
+            for (Format format : values())
+                if ( format.extension.equalsIgnoreCase(name) || format.name().equalsIgnoreCase(name) )
+                    return format;
+            throw new IllegalArgumentException("Unknown export format: " + name);
+        }
+
+        static Format ofExtension(String extension) {
+            return Arrays.stream(values()).filter(format -> format.extension.equals(extension)).findFirst().orElseThrow();
+        }
+    }
+
+    private static final String SELECT_SQL = "select id, first_name, last_name, email, version, updated_at from employees order by id";
+
+    // rows per round trip; MySQL only streams with useCursorFetch=true on the URL, otherwise it buffers the result set
+    static final int FETCH_SIZE = 1000;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    // export names are generated here, anything else asked for by name is not an export
+    private static final Pattern EXPORT_NAME = Pattern.compile("employees-(\\d{8}T\\d{9}Z)\\.(csv|ndjson|cbor)");
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'", Locale.ROOT)
+            .withZone(ZoneOffset.UTC);
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addNumberColumn("id")
+            .addColumn("firstName")
+            .addColumn("lastName")
+            .addColumn("email")
+            .addNumberColumn("version")
+            .addNumberColumn("updatedAt")
+            .setUseHeader(true)
+            .build();
+
+    private JdbcTemplate jdbcTemplate;
+
+    // one repeatable snapshot of the table for the whole export
+    private TransactionTemplate readOnlyTransaction;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final CsvFactory csvFactory = new CsvFactory();
+
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    private final Path directory;
+
+    private final Format scheduledFormat;
+
+    private final int retain;
+
+    public EmployeeExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            @Value("${employee.export.directory:${java.io.tmpdir}/employee-exports}") Path directory,
+                            @Value("${employee.export.format:csv}") String scheduledFormat,
+                            @Value("${employee.export.retain:3}") int retain) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = directory;
+        this.scheduledFormat = Format.of(scheduledFormat);
+        this.retain = Math.max(1, retain);
+    }
+
+    // nightly dump, off unless employee.export.cron is set
+    @Scheduled(cron = "${employee.export.cron:-}")
+    public void scheduledExport() throws IOException {
+        export(scheduledFormat);
+    }
+
+    public EmployeeExport export(Format format) throws IOException {
+
+        long started = System.nanoTime();
+        Instant createdAt = Instant.now();
+        String name = "employees-" + TIMESTAMP.format(createdAt) + "." + format.extension;
+        Files.createDirectories(directory);
+        Path partial = directory.resolve(name + ".partial");
+        long rows;
+        try {
+            rows = write(partial, format);
+            Files.move(partial, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        long size = Files.size(directory.resolve(name));
+        log.info("Exported {} employees to {} ({} bytes) in {} ms", rows, name, size, elapsedMillis);
+
+        removeOldExports(format);
+        return new EmployeeExport(name, format.extension, size, createdAt.toEpochMilli(), rows, elapsedMillis);
+    }
+
+    private long write(Path file, Format format) throws IOException {
+
+        long[] rows = {0};
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+             JsonGenerator generator = generator(format, out)) {
+            RowCallbackHandler writeRow = resultSet -> {
+                try {
+                    writeRow(generator, format, resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            };
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, writeRow));
+
+            // the file is only moved into place once its content is on disk
+            generator.flush();
+            channel.force(false);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
+    private JsonGenerator generator(Format format, OutputStream out) throws IOException {
+        JsonGenerator generator = switch ( format ) {
+            case CSV -> csvFactory.createGenerator(out);
+            case NDJSON -> jsonFactory.createGenerator(out);
+            case CBOR -> cborFactory.createGenerator(out);
+        };
+        if ( format == Format.CSV )
+            generator.setSchema(CSV_SCHEMA);
+        // NDJSON rows end in a newline, written after each one instead of the default space between root values
+        // (CsvGenerator does not support root value separators at all)
+        if ( format == Format.NDJSON )
+            generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private static void writeRow(JsonGenerator generator, Format format, ResultSet resultSet) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", resultSet.getLong(1));
+        generator.writeStringField("firstName", resultSet.getString(2));
+        generator.writeStringField("lastName", resultSet.getString(3));
+        generator.writeStringField("email", resultSet.getString(4));
+        generator.writeNumberField("version", resultSet.getLong(5));
+        generator.writeNumberField("updatedAt", resultSet.getLong(6));
+        generator.writeEndObject();
+        if ( format == Format.NDJSON )
+            generator.writeRaw('\n');
+    }
+
+    // finished exports, newest first
+    public List<EmployeeExport> listExports() throws IOException {
+
+        if ( !Files.isDirectory(directory) )
+            return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> describe(file.getFileName().toString()))
+                    .flatMap(Optional::stream)
+                    .sorted(Comparator.comparingLong(EmployeeExport::getCreatedAt).reversed())
+                    .toList();
+        }
+    }
+
+    public Optional<EmployeeExport> latestExport(Format format) throws IOException {
+        return listExports().stream().filter(export -> export.getFormat().equals(format.extension)).findFirst();
+    }
+
+    // the file of a finished export, empty for any name this class did not generate
+    public Optional<Path> exportFile(String name) {
+        if ( !EXPORT_NAME.matcher(name).matches() )
+            return Optional.empty();
+        Path file = directory.resolve(name);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    public static Format formatOf(String name) {
+        Matcher matcher = EXPORT_NAME.matcher(name);
+        if ( !matcher.matches() )
+            throw new IllegalArgumentException("Not an export: " + name);
+        return Format.ofExtension(matcher.group(2));
+    }
+
+    private Optional<EmployeeExport> describe(String name) {
+        Matcher matcher = EXPORT_NAME.matcher(name);
+        if ( !matcher.matches() )
+            return Optional.empty();
+        try {
+            Path file = directory.resolve(name);
+            long createdAt = Instant.from(TIMESTAMP.parse(matcher.group(1))).toEpochMilli();
+            return Optional.of(new EmployeeExport(name, matcher.group(2), Files.size(file), createdAt, null, null));
+        } catch (IOException e) {
+            // removed while listing
+            return Optional.empty();
+        }
+    }
+
+    private void removeOldExports(Format format) throws IOException {
+        List<EmployeeExport> exports = listExports().stream().filter(export -> export.getFormat().equals(format.extension)).toList();
+        for (EmployeeExport export : exports.subList(Math.min(retain, exports.size()), exports.size()))
+            Files.deleteIfExists(directory.resolve(export.getName()));
+    }
+}
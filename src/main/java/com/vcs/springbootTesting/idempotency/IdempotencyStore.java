@@ -0,0 +1,184 @@
+package com.vcs.springbootTesting.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vcs.springbootTesting.dto.IdempotentResponse;
+import com.vcs.springbootTesting.exception.IdempotencyKeyReusedException;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.IdempotencyKey;
+import com.vcs.springbootTesting.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// First responses to POST /api/employees by Idempotency-Key. The first request with a key runs, every later or
+// concurrent one with the same key waits for it and gets its response back, so a retried create is one write.
+// Entries live in a bounded cache for ttl; with persistent=true they are also written to idempotency_keys,
+// which answers retries after a restart or on another instance (two instances racing on a new key both run).
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private record Entry(String fingerprint, IdempotentResponse response) {
+    }
+
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private ObjectMapper objectMapper;
+
+    private Clock clock;
+
+    private final Duration ttl;
+
+    private final boolean persistent;
+
+    // pending until the first request completes, failed requests are removed so a retry runs again
+    private final Cache<String, CompletableFuture<Entry>> entries;
+
+    private final Counter replays;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${employee.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${employee.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${employee.idempotency.persistent:false}") boolean persistent) {
+        this(idempotencyKeyRepository, objectMapper, meterRegistry, Clock.systemUTC(), maximumSize, ttl, persistent);
+    }
+
+    IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                     Clock clock, long maximumSize, Duration ttl, boolean persistent) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.persistent = persistent;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.replays = Counter.builder("employee.idempotency.replays")
+                .description("Requests answered with the stored response of an earlier request with the same Idempotency-Key")
+                .register(meterRegistry);
+    }
+
+    // same name, email and key means a retry of the same create
+    public static String fingerprintOf(Employee employee) {
+        String request = employee.getFirstName() + '\0' + employee.getLastName() + '\0' + employee.getEmail();
+        return DigestUtils.md5DigestAsHex(request.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public IdempotentResponse execute(String key, String fingerprint, Supplier<IdempotentResponse> request) {
+
+        CompletableFuture<Entry> owned = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = entries.asMap().putIfAbsent(key, owned);
+        if ( existing != null )
+            return replay(await(existing), fingerprint);
+
+        Entry entry;
+        try {
+            Optional<Entry> stored = load(key);
+            if ( stored.isPresent() ) {
+                owned.complete(stored.get());
+                return replay(stored.get(), fingerprint);
+            }
+            entry = new Entry(fingerprint, request.get());
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, owned);
+            owned.completeExceptionally(e);
+            throw e;
+        }
+        owned.complete(entry);
+        store(key, entry);
+        return entry.response();
+    }
+
+    // a stored key's rows outlive the cache entry by at most the maintenance interval
+    @Scheduled(fixedDelayString = "${employee.idempotency.maintenance-interval:PT10M}")
+    public void prune() {
+        if ( persistent ) {
+            int pruned = idempotencyKeyRepository.deleteCreatedBefore(clock.millis() - ttl.toMillis());
+            if ( pruned > 0 )
+                log.info("Idempotency keys: pruned {} expired rows", pruned);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "idempotency.keys");
+    }
+
+    private IdempotentResponse replay(Entry entry, String fingerprint) {
+        if ( !entry.fingerprint().equals(fingerprint) )
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request");
+        replays.increment();
+        return entry.response().toBuilder().replayed(true).build();
+    }
+
+    private static Entry await(CompletableFuture<Entry> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            // the first request failed, its duplicates fail the same way instead of running it again
+            if ( e.getCause() instanceof RuntimeException cause )
+                throw cause;
+            throw e;
+        }
+    }
+
+    private Optional<Entry> load(String key) {
+
+        if ( !persistent )
+            return Optional.empty();
+
+        long expiredBefore = clock.millis() - ttl.toMillis();
+        return idempotencyKeyRepository.findById(key)
+                .filter(stored -> stored.getCreatedAt() >= expiredBefore)
+                .map(stored -> new Entry(stored.getFingerprint(),
+                        new IdempotentResponse(stored.getStatus(), readEmployee(stored.getBody()), false)));
+    }
+
+    // the write has happened by now, failing to remember it must not fail the response
+    private void store(String key, Entry entry) {
+
+        if ( !persistent )
+            return;
+
+        try {
+            idempotencyKeyRepository.save(new IdempotencyKey(key, entry.fingerprint(), entry.response().getStatus(),
+                    objectMapper.writeValueAsString(entry.response().getEmployee()), clock.millis()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Idempotency-Key {} was stored concurrently by another instance", key);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not persist Idempotency-Key {}", key, e);
+        }
+    }
+
+    private Employee readEmployee(String body) {
+        try {
+            return body == null ? null : objectMapper.readValue(body, Employee.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response for an Idempotency-Key", e);
+        }
+    }
+}
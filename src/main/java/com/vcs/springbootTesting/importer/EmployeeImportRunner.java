@@ -0,0 +1,98 @@
+package com.vcs.springbootTesting.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.vcs.springbootTesting.dto.EmployeeImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+// Command-line import of one file, the application exits when it is done:
+//
+//   java -jar springboot-testing.jar --spring.main.web-application-type=none --employee.import.file=/data/hr.csv.gz
+//
+// .csv and .ndjson/.jsonl files, optionally gzip-compressed (.gz). Every rejected row is written to
+// employee.import.error-file (default: the input file name + .errors.ndjson); exit code 0 when all rows were created,
+// 2 when some were rejected, 1 when the import failed. The exit code is handed to SpringApplication.exit, main exits
+// once run returns.
+@Component
+@ConditionalOnProperty(name = "employee.import.file")
+public class EmployeeImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportRunner.class);
+
+    private EmployeeImporter employeeImporter;
+
+    private ObjectMapper objectMapper;
+
+    private final Path file;
+
+    private final Path errorFile;
+
+    // 1 until the import has run
+    private volatile int exitCode = 1;
+
+    public EmployeeImportRunner(EmployeeImporter employeeImporter, ObjectMapper objectMapper,
+                                @Value("${employee.import.file}") Path file,
+                                @Value("${employee.import.error-file:}") String errorFile) {
+        this.employeeImporter = employeeImporter;
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.errorFile = errorFile.isBlank() ? Path.of(file + ".errors.ndjson") : Path.of(errorFile);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            EmployeeImportReport report = importFile();
+            exitCode = report.getDuplicates() + report.getInvalid() == 0 ? 0 : 2;
+            if ( exitCode != 0 )
+                log.info("Rejected rows of {} written to {}", file, errorFile);
+        } catch (IOException | RuntimeException e) {
+            log.error("Import of {} failed", file, e);
+            exitCode = 1;
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    EmployeeImportReport importFile() throws IOException {
+
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        if ( gzip )
+            name = name.substring(0, name.length() - ".gz".length());
+        EmployeeImporter.Format format = name.endsWith(".ndjson") || name.endsWith(".jsonl")
+                ? EmployeeImporter.Format.NDJSON : EmployeeImporter.Format.CSV;
+
+        try (InputStream input = gzip ? new GZIPInputStream(Files.newInputStream(file), 64 * 1024) : Files.newInputStream(file);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(errorFile));
+             SequenceWriter errors = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            return employeeImporter.importEmployees(input, format, error -> {
+                try {
+                    errors.write(error);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.vcs.springbootTesting.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult.Status;
+import com.vcs.springbootTesting.dto.EmployeeImportError;
+import com.vcs.springbootTesting.dto.EmployeeImportReport;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+// Bulk import of HR extracts (CSV with a header row, or NDJSON) at constant memory whatever the file size.
+// The input is read line by line in chunks; each chunk is parsed and validated in parallel on the common pool while
+// the previous one is written by EmployeeService.saveEmployees (its own transaction, one batched insert), so at most
+// two chunks are held at a time. Emails repeated within a chunk are caught there, repeats of an earlier chunk by the
+// duplicate check against the database, the earlier chunk being committed by then. Re-running a file that failed
+// half-way is safe: rows imported the first time come back as duplicates.
+@Component
+public class EmployeeImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImporter.class);
+
+    public enum Format { CSV, NDJSON }
+
+    // the employees columns are varchar(255)
+    static final int MAX_FIELD_LENGTH = 255;
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = 10_000_000_000L;
+
+    // one parsed line: the employee to insert, or why the line was rejected
+    private record Row(long line, Employee employee, String error) {
+    }
+
+    private EmployeeService employeeService;
+
+    private ObjectReader jsonReader;
+
+    // without a schema a CSV record reads as the array of its column values
+    private ObjectReader csvReader;
+
+    private final int chunkSize;
+
+    private final int maxReportedErrors;
+
+    private Counter createdRows;
+
+    private Counter duplicateRows;
+
+    private Counter invalidRows;
+
+    public EmployeeImporter(EmployeeService employeeService, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${employee.import.chunk-size:1000}") int chunkSize,
+                            @Value("${employee.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.employeeService = employeeService;
+        this.jsonReader = objectMapper.readerFor(Employee.class);
+        this.csvReader = new CsvMapper().readerFor(String[].class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.createdRows = rowCounter(meterRegistry, "created");
+        this.duplicateRows = rowCounter(meterRegistry, "duplicate");
+        this.invalidRows = rowCounter(meterRegistry, "invalid");
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employee.import.rows")
+                .description("Imported rows by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public EmployeeImportReport importEmployees(InputStream input, Format format) throws IOException {
+        return importEmployees(input, format, error -> {
+        });
+    }
+
+    // every rejected row goes to errorSink (from the writing thread, in file order), the report keeps the first few
+    public EmployeeImportReport importEmployees(InputStream input, Format format, Consumer<EmployeeImportError> errorSink) throws IOException {
+
+        Progress progress = new Progress(errorSink);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        // a single writer keeps chunks in file order, which the cross-chunk duplicate check relies on
+        ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "employee-import-writer"));
+        try {
+            long lineNumber = 0;
+            int[] columns = null;
+            if ( format == Format.CSV ) {
+                String header = reader.readLine();
+                if ( header == null )
+                    return progress.report();
+                lineNumber++;
+                columns = columnsOf(stripByteOrderMark(header));
+            }
+
+            CompletableFuture<Void> writing = CompletableFuture.completedFuture(null);
+            List<String> lines = new ArrayList<>(chunkSize);
+            long firstLine = lineNumber + 1;
+            String line;
+            while ( (line = reader.readLine()) != null ) {
+                if ( ++lineNumber == 1 )
+                    line = stripByteOrderMark(line);
+                lines.add(line);
+                if ( lines.size() == chunkSize ) {
+                    Row[] rows = parse(lines, firstLine, format, columns);
+                    writing = next(writing, rows, progress, writer);
+                    lines = new ArrayList<>(chunkSize);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if ( !lines.isEmpty() )
+                writing = next(writing, parse(lines, firstLine, format, columns), progress, writer);
+            await(writing);
+        } finally {
+            writer.shutdownNow();
+        }
+
+        EmployeeImportReport report = progress.report();
+        log.info("Imported {} employee rows in {} ms: {} created, {} duplicates, {} invalid",
+                report.getRows(), report.getElapsedMillis(), report.getCreated(), report.getDuplicates(), report.getInvalid());
+        return report;
+    }
+
+    // waits for the chunk being written, so parsing the next one overlapped with it, then hands this one over
+    private CompletableFuture<Void> next(CompletableFuture<Void> writing, Row[] rows, Progress progress, ExecutorService writer) {
+        await(writing);
+        return CompletableFuture.runAsync(() -> write(rows, progress), writer);
+    }
+
+    private static void await(CompletableFuture<Void> writing) {
+        try {
+            writing.join();
+        } catch (CompletionException e) {
+            if ( e.getCause() instanceof RuntimeException cause )
+                throw cause;
+            throw e;
+        }
+    }
+
+    private Row[] parse(List<String> lines, long firstLine, Format format, int[] columns) {
+
+        Row[] rows = new Row[lines.size()];
+        IntStream.range(0, rows.length).parallel().forEach(i -> {
+            String line = lines.get(i);
+            // blank lines (a trailing newline, an empty line between records) are not rows
+            if ( !line.isBlank() )
+                rows[i] = format == Format.CSV ? parseCsv(firstLine + i, line, columns) : parseJson(firstLine + i, line);
+        });
+        return rows;
+    }
+
+    private Row parseJson(long line, String json) {
+        try {
+            Employee employee = jsonReader.readValue(json);
+            return validate(line, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // multi-line quoted values are not supported, every line is one record
+    private Row parseCsv(long line, String csv, int[] columns) {
+        try {
+            String[] values = csvReader.readValue(csv);
+            return validate(line, valueAt(values, columns[0]), valueAt(values, columns[1]), valueAt(values, columns[2]));
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "Malformed CSV: " + e.getOriginalMessage());
+        }
+    }
+
+    private static String valueAt(String[] values, int column) {
+        return column < values.length ? values[column] : null;
+    }
+
+    private static Row validate(long line, String firstName, String lastName, String email) {
+
+        firstName = trimToNull(firstName);
+        lastName = trimToNull(lastName);
+        email = trimToNull(email);
+        if ( firstName == null || lastName == null || email == null )
+            return new Row(line, Employee.builder().email(email).build(), "firstName, lastName and email are required");
+        if ( firstName.length() > MAX_FIELD_LENGTH || lastName.length() > MAX_FIELD_LENGTH || email.length() > MAX_FIELD_LENGTH )
+            return new Row(line, Employee.builder().email(email).build(), "Fields must be at most " + MAX_FIELD_LENGTH + " characters long");
+        if ( !EMAIL.matcher(email).matches() )
+            return new Row(line, Employee.builder().email(email).build(), "Not an email address: " + email);
+        return new Row(line, Employee.builder().firstName(firstName).lastName(lastName).email(email).build(), null);
+    }
+
+    private static String trimToNull(String value) {
+        if ( value == null )
+            return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private void write(Row[] rows, Progress progress) {
+
+        List<Employee> employees = new ArrayList<>(rows.length);
+        // chunk position of every submitted employee
+        int[] positions = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            if ( rows[i] != null && rows[i].error() == null ) {
+                positions[employees.size()] = i;
+                employees.add(rows[i].employee());
+            }
+        }
+
+        EmployeeBatchResult[] results = new EmployeeBatchResult[rows.length];
+        if ( !employees.isEmpty() )
+            for (EmployeeBatchResult result : employeeService.saveEmployees(employees))
+                results[positions[result.getIndex()]] = result;
+
+        // rejections are reported in file order
+        for (int i = 0; i < rows.length; i++) {
+            Row row = rows[i];
+            if ( row == null )
+                continue;
+            progress.rows++;
+            if ( row.error() != null )
+                progress.reject(row.line(), Status.INVALID, row.employee(), row.error());
+            else if ( results[i].getStatus() == Status.CREATED ) {
+                progress.created++;
+                createdRows.increment();
+            } else
+                progress.reject(row.line(), results[i].getStatus(), results[i].getEmployee(), results[i].getMessage());
+        }
+        progress.logIfDue();
+    }
+
+    private static String stripByteOrderMark(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    // positions of the firstName, lastName and email columns; names match ignoring case, '_' and '-' (first_name)
+    private int[] columnsOf(String header) throws IOException {
+
+        String[] names = csvReader.readValue(header);
+        int[] columns = {-1, -1, -1};
+        for (int i = 0; i < names.length; i++) {
+            switch ( names[i].trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT) ) {
+                case "firstname" -> columns[0] = i;
+                case "lastname" -> columns[1] = i;
+                case "email" -> columns[2] = i;
+                default -> { }
+            }
+        }
+        if ( columns[0] < 0 || columns[1] < 0 || columns[2] < 0 )
+            throw new IllegalArgumentException("The CSV header must name the firstName, lastName and email columns");
+        return columns;
+    }
+
+    // only touched by the writer thread; the caller reads it after the last write completed
+    private class Progress {
+
+        private final Consumer<EmployeeImportError> errorSink;
+
+        private final List<EmployeeImportError> errors = new ArrayList<>();
+
+        private final long started = System.nanoTime();
+
+        private long lastLogged = started;
+
+        private long rows;
+
+        private long created;
+
+        private long duplicates;
+
+        private long invalid;
+
+        Progress(Consumer<EmployeeImportError> errorSink) {
+            this.errorSink = errorSink;
+        }
+
+        void reject(long line, Status status, Employee employee, String message) {
+
+            if ( status == Status.DUPLICATE ) {
+                duplicates++;
+                duplicateRows.increment();
+            } else {
+                invalid++;
+                invalidRows.increment();
+            }
+            EmployeeImportError error = new EmployeeImportError(line, status, employee == null ? null : employee.getEmail(), message);
+            if ( errors.size() < maxReportedErrors )
+                errors.add(error);
+            errorSink.accept(error);
+        }
+
+        void logIfDue() {
+            long now = System.nanoTime();
+            if ( now - lastLogged < PROGRESS_LOG_INTERVAL_NANOS )
+                return;
+            lastLogged = now;
+            log.info("Employee import: {} rows so far ({} created, {} rejected), {} rows/s",
+                    rows, created, duplicates + invalid, rows * 1_000_000_000L / Math.max(1, now - started));
+        }
+
+        EmployeeImportReport report() {
+            return new EmployeeImportReport(rows, created, duplicates, invalid, List.copyOf(errors),
+                    duplicates + invalid > errors.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
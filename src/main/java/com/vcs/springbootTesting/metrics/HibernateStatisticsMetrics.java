@@ -0,0 +1,59 @@
+package com.vcs.springbootTesting.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+// Publishes Hibernate's session factory statistics, only when hibernate.generate_statistics is on (they stay zero otherwise).
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        counter(registry, "hibernate.query.executions", "Queries executed", Statistics::getQueryExecutionCount);
+        counter(registry, "hibernate.statements.prepared", "JDBC statements prepared", Statistics::getPrepareStatementCount);
+        counter(registry, "hibernate.entities.loaded", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.inserted", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, "hibernate.entities.updated", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, "hibernate.flushes", "Session flushes", Statistics::getFlushCount);
+        counter(registry, "hibernate.optimistic.failures", "Optimistic lock failures", Statistics::getOptimisticFailureCount);
+        counter(registry, "hibernate.second.level.cache.hits", "Second level cache hits", Statistics::getSecondLevelCacheHitCount);
+        counter(registry, "hibernate.second.level.cache.misses", "Second level cache misses", Statistics::getSecondLevelCacheMissCount);
+
+        Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, HibernateStatisticsMetrics::secondLevelCacheHitRatio)
+                .description("Second level cache hits over lookups since startup")
+                .register(registry);
+        Gauge.builder("hibernate.query.execution.max", statistics, Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query since startup")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .description(description)
+                .register(registry);
+    }
+
+    private static double secondLevelCacheHitRatio(Statistics statistics) {
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long lookups = hits + statistics.getSecondLevelCacheMissCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -2,13 +2,17 @@ package com.vcs.springbootTesting.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "employees")
-@Builder
+@Table(name = "employees", indexes = {
+        @Index(name = "uk_employees_email", columnList = "email", unique = true),
+        @Index(name = "idx_employees_name", columnList = "first_name, last_name")
+})
+@Builder(toBuilder = true)
 public class Employee {
 
     @Id
@@ -23,4 +27,21 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    // optimistic locking, bumped by every update; clients send it back in If-Match on PUT to detect lost updates
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    // epoch millis of the last write, served as Last-Modified; 0 for rows written before the column existed
+    @ColumnDefault("0")
+    @Column(name = "updated_at", nullable = false)
+    private long updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = System.currentTimeMillis();
+    }
 }
@@ -0,0 +1,73 @@
+package com.vcs.springbootTesting.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+// Outbox row written in the same transaction as the employee change it describes.
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "employee_changes", indexes = {
+        @Index(name = "idx_employee_changes_employee", columnList = "employee_id, seq"),
+        @Index(name = "idx_employee_changes_changed_at", columnList = "changed_at"),
+        @Index(name = "idx_employee_changes_commit_seq", columnList = "commit_seq", unique = true)
+})
+@Builder
+public class EmployeeChange {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    // insert order. Rows commit out of this order, so it stays internal
+    @JsonIgnore
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long seq;
+
+    // position in the change log in commit order, assigned by EmployeeOutbox once the row is committed (null before).
+    // Pollers pass the last one they saw as "since"
+    @Column(name = "commit_seq")
+    private Long commitSeq;
+
+    @Column(name = "employee_id", nullable = false)
+    private long employeeId;
+
+    // plain varchar rather than a native MySQL enum column, new types must not need a migration
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private Type type;
+
+    // employee state after the change, empty for deletes
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    private Long version;
+
+    // epoch millis
+    @Column(name = "changed_at", nullable = false)
+    private long changedAt;
+
+    public static EmployeeChange of(Type type, Employee employee, long changedAt) {
+
+        EmployeeChange change = new EmployeeChange();
+        change.setEmployeeId(employee.getId());
+        change.setType(type);
+        change.setChangedAt(changedAt);
+        if ( type != Type.DELETED ) {
+            change.setFirstName(employee.getFirstName());
+            change.setLastName(employee.getLastName());
+            change.setEmail(employee.getEmail());
+            change.setVersion(employee.getVersion());
+        }
+        return change;
+    }
+}
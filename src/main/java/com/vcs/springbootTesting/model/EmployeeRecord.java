@@ -0,0 +1,47 @@
+package com.vcs.springbootTesting.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// R2DBC mapping of the employees table for the reactive stack. Kept apart from the JPA entity so that
+// neither Spring Data module claims the other's repository; the API still speaks Employee.
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Table("employees")
+@Builder(toBuilder = true)
+public class EmployeeRecord {
+
+    // null until inserted, which is how Spring Data R2DBC tells an insert from an update
+    @Id
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    @Version
+    private Long version;
+
+    private long updatedAt;
+
+    // new rows, the id and version are assigned by the insert
+    public static EmployeeRecord newRecord(Employee employee) {
+        return new EmployeeRecord(null, employee.getFirstName(), employee.getLastName(), employee.getEmail(), null, System.currentTimeMillis());
+    }
+
+    public Employee toEmployee() {
+        return Employee.builder()
+                .id(id == null ? 0 : id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .version(version == null ? 0 : version)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.vcs.springbootTesting.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Persisted first response for an Idempotency-Key, so retries are still answered after a restart or by another instance.
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Builder
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    // digest of the request the key was first used with
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private int status;
+
+    // response body as JSON
+    @Column(length = 2048)
+    private String body;
+
+    // epoch millis
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+}
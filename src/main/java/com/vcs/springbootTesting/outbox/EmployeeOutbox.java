@@ -0,0 +1,252 @@
+package com.vcs.springbootTesting.outbox;
+
+import com.vcs.springbootTesting.dto.EmployeeChangePage;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
+import com.vcs.springbootTesting.model.EmployeeChange.Type;
+import com.vcs.springbootTesting.repository.EmployeeChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Change log of employee mutations. Rows are appended inside the caller's transaction and numbered in commit order
+// once committed (commit_seq); pollers read them back in that order, optionally long-polling for the next commit.
+// Compacted and pruned on a schedule.
+@Component
+public class EmployeeOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeOutbox.class);
+
+    static final int MAINTENANCE_CHUNK_SIZE = 1000;
+
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    private AsyncTaskExecutor taskExecutor;
+
+    private Clock clock;
+
+    private final Duration compactAfter;
+
+    private final Duration retention;
+
+    // one per waiting long poll, completed once the next committed changes are numbered and dropped on completion or
+    // timeout, so polls that time out leave nothing behind
+    private final Set<CompletableFuture<Void>> waiters = ConcurrentHashMap.newKeySet();
+
+    // set while a sequencing run is queued on the task executor
+    private final AtomicBoolean sequencingRequested = new AtomicBoolean();
+
+    // highest commit seq removed by pruning, -1 until read from the table
+    private final AtomicLong prunedThrough = new AtomicLong(-1);
+
+    @Autowired
+    public EmployeeOutbox(EmployeeChangeRepository employeeChangeRepository,
+                          @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                          @Value("${employee.changes.compact-after:1h}") Duration compactAfter,
+                          @Value("${employee.changes.retention:7d}") Duration retention) {
+        this(employeeChangeRepository, taskExecutor, Clock.systemUTC(), compactAfter, retention);
+    }
+
+    EmployeeOutbox(EmployeeChangeRepository employeeChangeRepository, AsyncTaskExecutor taskExecutor, Clock clock,
+                   Duration compactAfter, Duration retention) {
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.taskExecutor = taskExecutor;
+        this.clock = clock;
+        this.compactAfter = compactAfter;
+        this.retention = retention;
+    }
+
+    public void record(Type type, Employee employee) {
+        employeeChangeRepository.save(EmployeeChange.of(type, employee, clock.millis()));
+        sequenceAfterCommit();
+    }
+
+    public void recordAll(Type type, List<Employee> employees) {
+
+        if ( employees.isEmpty() )
+            return;
+
+        long now = clock.millis();
+        employeeChangeRepository.appendAll(employees.stream().map(employee -> EmployeeChange.of(type, employee, now)).toList());
+        sequenceAfterCommit();
+    }
+
+    public EmployeeChangePage changesSince(long since, int limit) {
+
+        if ( since < prunedThrough() ) {
+            Long maxCommitSeq = employeeChangeRepository.findMaxCommitSeq();
+            return new EmployeeChangePage(List.of(), maxCommitSeq == null ? since : maxCommitSeq, true);
+        }
+
+        // commit seqs are handed out without gaps and only to committed rows, whatever commits later numbers after them
+        List<EmployeeChange> changes = employeeChangeRepository.findChangesAfter(since, PageRequest.ofSize(limit));
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getCommitSeq();
+        return new EmployeeChangePage(changes, nextSince, false);
+    }
+
+    // the newest change, whose commit seq doubles as a version of the whole employees table. Empty while a committed
+    // change still waits for its commit seq: the list already shows it, so the current version must not answer 304
+    public Optional<EmployeeChange> head() {
+
+        if ( employeeChangeRepository.existsByCommitSeqIsNull() )
+            return Optional.empty();
+        return employeeChangeRepository.findFirstByCommitSeqNotNullOrderByCommitSeqDesc();
+    }
+
+    // completes with the first non-empty page, or with an empty one once "wait" has passed
+    public CompletableFuture<EmployeeChangePage> awaitChangesSince(long since, int limit, Duration wait) {
+
+        // subscribe before reading so a commit in between is not missed
+        CompletableFuture<Void> signal = new CompletableFuture<>();
+        waiters.add(signal);
+        EmployeeChangePage page = changesSince(since, limit);
+        if ( !page.getChanges().isEmpty() || page.isResyncRequired() || wait.isZero() ) {
+            waiters.remove(signal);
+            return CompletableFuture.completedFuture(page);
+        }
+
+        // re-read on the task executor, never on the committing thread
+        return signal.completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApplyAsync(ignored -> {
+                    waiters.remove(signal);
+                    return changesSince(since, limit);
+                }, taskExecutor);
+    }
+
+    // numbers everything committed so far. Runs after every local commit; the schedule picks up rows written by
+    // other instances and by the reactive service, and anything a failed run left behind
+    @Scheduled(fixedDelayString = "${employee.changes.sequence-interval:PT1S}")
+    public void sequence() {
+
+        int assigned = 0;
+        int chunk;
+        do {
+            chunk = employeeChangeRepository.assignCommitSeqs(MAINTENANCE_CHUNK_SIZE);
+            assigned += chunk;
+        } while ( chunk == MAINTENANCE_CHUNK_SIZE );
+
+        if ( assigned > 0 )
+            signal();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.maintenance-interval:PT10M}")
+    public void maintain() {
+        int compacted = compact();
+        int pruned = prune();
+        if ( compacted > 0 || pruned > 0 )
+            log.info("Employee change log: compacted {} and pruned {} rows", compacted, pruned);
+    }
+
+    // keeps only the latest change per employee among rows older than compactAfter
+    int compact() {
+
+        long before = clock.millis() - compactAfter.toMillis();
+        int deleted = 0;
+        List<Long> superseded;
+        do {
+            superseded = employeeChangeRepository.findSupersededBefore(before, PageRequest.ofSize(MAINTENANCE_CHUNK_SIZE));
+            if ( !superseded.isEmpty() )
+                employeeChangeRepository.deleteAllByIdInBatch(superseded);
+            deleted += superseded.size();
+        } while ( superseded.size() == MAINTENANCE_CHUNK_SIZE );
+        return deleted;
+    }
+
+    // drops everything older than retention, pollers that were further behind have to resync
+    int prune() {
+
+        Long through = employeeChangeRepository.findMaxCommitSeqBefore(clock.millis() - retention.toMillis());
+        if ( through == null )
+            return 0;
+
+        // the newest row always stays, it carries the table version (see head)
+        Long head = employeeChangeRepository.findMaxCommitSeq();
+        if ( head != null && through >= head )
+            through = head - 1;
+
+        // pollers resync from here on, not only once every chunk is gone
+        prunedThrough.accumulateAndGet(through, Math::max);
+        int deleted = 0;
+        List<Long> pruned;
+        do {
+            pruned = employeeChangeRepository.findSeqsThrough(through, PageRequest.ofSize(MAINTENANCE_CHUNK_SIZE));
+            if ( !pruned.isEmpty() )
+                employeeChangeRepository.deleteAllByIdInBatch(pruned);
+            deleted += pruned.size();
+        } while ( pruned.size() == MAINTENANCE_CHUNK_SIZE );
+        return deleted;
+    }
+
+    private long prunedThrough() {
+
+        long through = prunedThrough.get();
+        if ( through >= 0 )
+            return through;
+
+        // after a restart everything below the oldest remaining row counts as pruned
+        Long minCommitSeq = employeeChangeRepository.findMinCommitSeq();
+        prunedThrough.compareAndSet(-1, minCommitSeq == null ? 0 : minCommitSeq - 1);
+        return prunedThrough.get();
+    }
+
+    private void sequenceAfterCommit() {
+
+        if ( !TransactionSynchronizationManager.isSynchronizationActive() ) {
+            requestSequencing();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestSequencing();
+            }
+        });
+    }
+
+    // off the committing thread; a queued run also covers the commits that arrive before it starts
+    private void requestSequencing() {
+
+        if ( sequencingRequested.getAndSet(true) )
+            return;
+        taskExecutor.execute(() -> {
+            sequencingRequested.set(false);
+            try {
+                sequence();
+            } catch (RuntimeException e) {
+                log.warn("Could not number employee changes, the scheduled run retries", e);
+            }
+        });
+    }
+
+    private void signal() {
+        for (Iterator<CompletableFuture<Void>> waiter = waiters.iterator(); waiter.hasNext(); ) {
+            waiter.next().complete(null);
+            waiter.remove();
+        }
+    }
+
+    // long polls currently waiting for a commit
+    int waiting() {
+        return waiters.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.Employee;
+
+import java.util.List;
+
+public interface EmployeeBatchRepository {
+
+    // inserts the employees as one JDBC batch and sets the generated ids on them
+    List<Employee> insertAll(List<Employee> employees);
+}
@@ -0,0 +1,55 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.Employee;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+// Employee ids are IDENTITY columns, which stops Hibernate from batching inserts,
+// so bulk inserts go through plain JDBC batching on the transaction's connection.
+public class EmployeeBatchRepositoryImpl implements EmployeeBatchRepository {
+
+    private static final String INSERT_SQL = "insert into employees (first_name, last_name, email, version, updated_at) values (?, ?, ?, 0, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+
+    public EmployeeBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Employee> insertAll(List<Employee> employees) {
+
+        if ( employees.isEmpty() )
+            return employees;
+
+        long updatedAt = System.currentTimeMillis();
+        return jdbcTemplate.execute((ConnectionCallback<List<Employee>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Employee employee : employees) {
+                    statement.setString(1, employee.getFirstName());
+                    statement.setString(2, employee.getLastName());
+                    statement.setString(3, employee.getEmail());
+                    statement.setLong(4, updatedAt);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int i = 0;
+                    while ( keys.next() && i < employees.size() ) {
+                        Employee employee = employees.get(i++);
+                        employee.setId(keys.getLong(1));
+                        employee.setVersion(0L);
+                        employee.setUpdatedAt(updatedAt);
+                    }
+                }
+            }
+            return employees;
+        });
+    }
+}
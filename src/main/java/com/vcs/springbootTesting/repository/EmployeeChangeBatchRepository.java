@@ -0,0 +1,17 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.EmployeeChange;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface EmployeeChangeBatchRepository {
+
+    // appends the changes as one JDBC batch, the generated seqs are not read back
+    void appendAll(List<EmployeeChange> changes);
+
+    // gives up to "limit" committed rows without a commit_seq the next ones, in seq order, holding the lock on the
+    // sequencer row so every later call hands out higher ones. Returns how many were assigned
+    @Transactional
+    int assignCommitSeqs(int limit);
+}
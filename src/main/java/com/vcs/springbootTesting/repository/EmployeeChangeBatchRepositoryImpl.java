@@ -0,0 +1,63 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.EmployeeChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Same reason as EmployeeBatchRepositoryImpl: IDENTITY keys stop Hibernate from batching the inserts.
+public class EmployeeChangeBatchRepositoryImpl implements EmployeeChangeBatchRepository {
+
+    private static final String INSERT_SQL = "insert into employee_changes (employee_id, change_type, first_name, last_name, email, version, changed_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String LOCK_SEQUENCER_SQL = "select last_commit_seq from employee_change_sequencer where id = 1 for update";
+
+    private static final String UNSEQUENCED_SQL = "select seq from employee_changes where commit_seq is null order by seq limit ?";
+
+    private static final String ASSIGN_SQL = "update employee_changes set commit_seq = ? where seq = ?";
+
+    private static final String ADVANCE_SEQUENCER_SQL = "update employee_change_sequencer set last_commit_seq = ? where id = 1";
+
+    private JdbcTemplate jdbcTemplate;
+
+    public EmployeeChangeBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void appendAll(List<EmployeeChange> changes) {
+
+        if ( changes.isEmpty() )
+            return;
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (statement, change) -> {
+            statement.setLong(1, change.getEmployeeId());
+            statement.setString(2, change.getType().name());
+            statement.setString(3, change.getFirstName());
+            statement.setString(4, change.getLastName());
+            statement.setString(5, change.getEmail());
+            statement.setObject(6, change.getVersion());
+            statement.setLong(7, change.getChangedAt());
+        });
+    }
+
+    @Override
+    public int assignCommitSeqs(int limit) {
+
+        // rows become visible here only once committed, so a row whose transaction is still open gets its commit_seq
+        // from a later call, after everything handed out before
+        Long last = jdbcTemplate.queryForObject(LOCK_SEQUENCER_SQL, Long.class);
+        List<Long> seqs = jdbcTemplate.queryForList(UNSEQUENCED_SQL, Long.class, limit);
+        if ( seqs.isEmpty() )
+            return 0;
+
+        List<Object[]> assignments = new ArrayList<>(seqs.size());
+        for (Long seq : seqs)
+            assignments.add(new Object[] { last + assignments.size() + 1, seq });
+        jdbcTemplate.batchUpdate(ASSIGN_SQL, assignments);
+        jdbcTemplate.update(ADVANCE_SEQUENCER_SQL, last + seqs.size());
+        return seqs.size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.EmployeeChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long>, EmployeeChangeBatchRepository {
+
+    @Query("select c from EmployeeChange c where c.commitSeq > :since order by c.commitSeq")
+    List<EmployeeChange> findChangesAfter(@Param("since") long since, Pageable pageable);
+
+    Optional<EmployeeChange> findFirstByCommitSeqNotNullOrderByCommitSeqDesc();
+
+    boolean existsByCommitSeqIsNull();
+
+    @Query("select min(c.commitSeq) from EmployeeChange c")
+    Long findMinCommitSeq();
+
+    @Query("select max(c.commitSeq) from EmployeeChange c")
+    Long findMaxCommitSeq();
+
+    // rows older than "before" that a later change of the same employee makes redundant.
+    // Selected first and deleted by id, MySQL rejects a delete whose subquery reads the same table
+    @Query("select c.seq from EmployeeChange c where c.changedAt < :before and c.commitSeq is not null and exists "
+            + "(select 1 from EmployeeChange later where later.employeeId = c.employeeId and later.commitSeq > c.commitSeq)")
+    List<Long> findSupersededBefore(@Param("before") long before, Pageable pageable);
+
+    @Query("select max(c.commitSeq) from EmployeeChange c where c.changedAt < :before")
+    Long findMaxCommitSeqBefore(@Param("before") long before);
+
+    // same as findSupersededBefore: selected in chunks, then deleted by id
+    @Query("select c.seq from EmployeeChange c where c.commitSeq <= :commitSeq")
+    List<Long> findSeqsThrough(@Param("commitSeq") long commitSeq, Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.vcs.springbootTesting.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface EmployeeProjectionRepository {
+
+    Set<String> FIELDS = Set.of("id", "firstName", "lastName", "email", "version");
+
+    // selects only the requested attributes (a subset of FIELDS), one map per row in the requested field order
+    List<Map<String, Object>> findAllFields(Collection<String> fields);
+}
@@ -0,0 +1,51 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.*;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+// Tuple query over just the requested columns, nothing is loaded into the persistence context.
+public class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    private EntityManager entityManager;
+
+    public EmployeeProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Collection<String> fields) {
+
+        Set<String> selected = new LinkedHashSet<>(fields);
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected)
+            selections.add(employee.get(field).alias(field));
+        query.multiselect(selections).orderBy(builder.asc(employee.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, 500)
+                .getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : selected)
+                row.put(field, tuple.get(field));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
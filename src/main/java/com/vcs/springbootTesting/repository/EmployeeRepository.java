@@ -1,16 +1,31 @@
 package com.vcs.springbootTesting.repository;
 
+import com.vcs.springbootTesting.dto.EmployeeSummary;
 import com.vcs.springbootTesting.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeBatchRepository, EmployeeProjectionRepository {
 
     Optional<Employee> findByEmail(String email);
 
+    // duplicate check for a whole chunk of emails in one round trip
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     // define custom query  using JPQL with index params
     @Query("select e from Employee e where e.firstName=?1 and e.lastName=?2")
     Employee findByJPQL(String firstName, String lastName);
@@ -26,4 +41,41 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // define custom query  using Native-SQL with named params
     @Query(value = "select * from employees e where e.first_name=:firstName and e.last_name=:lastName", nativeQuery = true)
     Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // keyset pagination on the primary key - seeks past the last seen id instead of using an offset
+    @Query("select e from Employee e where e.id > :after order by e.id")
+    List<Employee> findPageAfter(@Param("after") long after, Pageable pageable);
+
+    // forward-only scroll over the whole table, must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    // list projection, builds DTOs directly instead of managed entities; the pageable only limits, ids are the cursor
+    @Query("select new com.vcs.springbootTesting.dto.EmployeeSummary(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e order by e.id")
+    List<EmployeeSummary> findAllSummaries(Pageable pageable);
+
+    // single-statement update, returns the affected row count (0 when the id does not exist)
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, e.version = e.version + 1, e.updatedAt = :updatedAt where e.id = :id")
+    int updateById(@Param("id") long id, @Param("firstName") String firstName,
+                   @Param("lastName") String lastName, @Param("email") String email, @Param("updatedAt") long updatedAt);
+
+    // the version an updateById just set, read back in the same transaction
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // optimistic variant, returns 0 when the id does not exist or the version has moved on
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, e.version = e.version + 1, e.updatedAt = :updatedAt where e.id = :id and e.version = :version")
+    int updateByIdAndVersion(@Param("id") long id, @Param("version") long version, @Param("firstName") String firstName,
+                             @Param("lastName") String lastName, @Param("email") String email, @Param("updatedAt") long updatedAt);
+
+    // single-statement delete, returns the affected row count (0 when the id does not exist)
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Employee e where e.id = :id")
+    int deleteRowById(@Param("id") long id);
 }
@@ -0,0 +1,16 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyKey k where k.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") long before);
+}
@@ -0,0 +1,53 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.EmployeeRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of EmployeeRepository for the reactive stack, same table and same statements.
+public interface ReactiveEmployeeRepository extends R2dbcRepository<EmployeeRecord, Long> {
+
+    Mono<EmployeeRecord> findByEmail(String email);
+
+    Flux<EmployeeRecord> findByFirstNameAndLastName(String firstName, String lastName);
+
+    // define custom query using SQL with named params
+    @Query("select * from employees e where e.first_name = :firstName and e.last_name = :lastName")
+    Flux<EmployeeRecord> findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // rows are pulled from the driver as the subscriber requests them
+    @Query("select * from employees e order by e.id")
+    Flux<EmployeeRecord> streamAll();
+
+    // single-statement update, emits the affected row count (0 when the id does not exist)
+    @Modifying
+    @Query("update employees set first_name = :firstName, last_name = :lastName, email = :email, version = version + 1, updated_at = :updatedAt where id = :id")
+    Mono<Integer> updateById(@Param("id") long id, @Param("firstName") String firstName,
+                             @Param("lastName") String lastName, @Param("email") String email, @Param("updatedAt") long updatedAt);
+
+    // optimistic variant, emits 0 when the id does not exist or the version has moved on
+    @Modifying
+    @Query("update employees set first_name = :firstName, last_name = :lastName, email = :email, version = version + 1, updated_at = :updatedAt where id = :id and version = :version")
+    Mono<Integer> updateByIdAndVersion(@Param("id") long id, @Param("version") long version, @Param("firstName") String firstName,
+                                       @Param("lastName") String lastName, @Param("email") String email, @Param("updatedAt") long updatedAt);
+
+    // the version an updateById just set, read back in the same transaction
+    @Query("select version from employees where id = :id")
+    Mono<Long> findVersionById(@Param("id") long id);
+
+    // single-statement delete, emits the affected row count (0 when the id does not exist)
+    @Modifying
+    @Query("delete from employees where id = :id")
+    Mono<Integer> deleteRowById(@Param("id") long id);
+
+    // change log row (see EmployeeChange), appended in the same transaction as the write it describes
+    @Modifying
+    @Query("insert into employee_changes (employee_id, change_type, first_name, last_name, email, version, changed_at) values (:employeeId, :type, :firstName, :lastName, :email, :version, :changedAt)")
+    Mono<Integer> insertChange(@Param("employeeId") long employeeId, @Param("type") String type, @Param("firstName") String firstName,
+                               @Param("lastName") String lastName, @Param("email") String email, @Param("version") Long version,
+                               @Param("changedAt") long changedAt);
+}
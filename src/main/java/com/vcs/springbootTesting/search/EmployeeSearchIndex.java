@@ -0,0 +1,204 @@
+package com.vcs.springbootTesting.search;
+
+import com.vcs.springbootTesting.dto.EmployeeSearchResult;
+import com.vcs.springbootTesting.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory prefix index over first name, last name and email for typeahead search.
+// Postings live in a sorted map keyed by "<field>|<token>", so a prefix lookup is a range scan.
+@Component
+public class EmployeeSearchIndex {
+
+    // upper bound on postings scanned for the first (most selective) term of a query, past it the result is truncated
+    static final int MAX_CANDIDATES = 10_000;
+
+    private record Matches(Map<Long, Integer> scores, boolean truncated) {
+    }
+
+    private enum Field {
+
+        FIRST_NAME('f', 3), LAST_NAME('l', 4), EMAIL('e', 2);
+
+        final char key;
+
+        final int weight;
+
+        Field(char key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, Employee> documents = new ConcurrentHashMap<>();
+
+    // ids deleted while the initial load is still streaming the table
+    private final Set<Long> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    private volatile boolean ready;
+
+    public void put(Employee employee) {
+        documents.compute(employee.getId(), (id, previous) -> {
+            if ( previous != null )
+                removePostings(previous);
+            Employee document = employee.toBuilder().build();
+            addPostings(document);
+            return document;
+        });
+    }
+
+    public void remove(long id) {
+        if ( loading )
+            deletedWhileLoading.add(id);
+        documents.computeIfPresent(id, (key, previous) -> {
+            removePostings(previous);
+            return null;
+        });
+    }
+
+    public void beginLoad() {
+        loading = true;
+    }
+
+    // rows streamed by the initial load never overwrite a live write or resurrect a live delete
+    public void load(Employee employee) {
+        if ( deletedWhileLoading.contains(employee.getId()) )
+            return;
+        documents.computeIfAbsent(employee.getId(), id -> {
+            Employee document = employee.toBuilder().build();
+            addPostings(document);
+            return document;
+        });
+    }
+
+    public void endLoad() {
+        loading = false;
+        deletedWhileLoading.clear();
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public EmployeeSearchResult search(String query, int limit) {
+
+        List<String> terms = tokenize(query);
+        if ( terms.isEmpty() || limit <= 0 )
+            return new EmployeeSearchResult(List.of(), false);
+
+        // every term has to match some field (AND), the score adds up the best field per term
+        Matches first = match(terms.get(0), null);
+        Map<Long, Integer> scores = first.scores();
+        for (String term : terms.subList(1, terms.size())) {
+            if ( scores.isEmpty() )
+                break;
+            Map<Long, Integer> termScores = match(term, scores.keySet()).scores();
+            scores.keySet().retainAll(termScores.keySet());
+            scores.replaceAll((id, score) -> score + termScores.get(id));
+        }
+
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(
+                Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()));
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            top.offer(entry);
+            if ( top.size() > limit )
+                top.poll();
+        }
+
+        List<Employee> results = new ArrayList<>(top.size());
+        while ( !top.isEmpty() ) {
+            Employee document = documents.get(top.poll().getKey());
+            if ( document != null )
+                results.add(document.toBuilder().build());
+        }
+        Collections.reverse(results);
+        return new EmployeeSearchResult(results, first.truncated());
+    }
+
+    // exact token matches score twice the field weight, prefix matches score the weight
+    private Matches match(String term, Set<Long> restrictTo) {
+
+        Map<Long, Integer> scores = new HashMap<>();
+        int scanned = 0;
+        for (Field field : Field.values()) {
+            String prefix = field.key + "|" + term;
+            for (Map.Entry<String, Set<Long>> posting : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+                int score = posting.getKey().length() == prefix.length() ? field.weight * 2 : field.weight;
+                for (Long id : posting.getValue()) {
+                    if ( restrictTo != null && !restrictTo.contains(id) )
+                        continue;
+                    scores.merge(id, score, Math::max);
+                    if ( restrictTo == null && ++scanned >= MAX_CANDIDATES )
+                        return new Matches(scores, true);
+                }
+            }
+        }
+        return new Matches(scores, false);
+    }
+
+    // the add happens inside compute: added after it, an id could land in a set removePostings has just dropped
+    private void addPostings(Employee employee) {
+        for (String key : postingKeys(employee)) {
+            postings.compute(key, (k, ids) -> {
+                if ( ids == null )
+                    ids = ConcurrentHashMap.newKeySet();
+                ids.add(employee.getId());
+                return ids;
+            });
+        }
+    }
+
+    private void removePostings(Employee employee) {
+        for (String key : postingKeys(employee)) {
+            postings.computeIfPresent(key, (k, ids) -> {
+                ids.remove(employee.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> postingKeys(Employee employee) {
+
+        Set<String> keys = new HashSet<>();
+        for (String token : tokenize(employee.getFirstName()))
+            keys.add(Field.FIRST_NAME.key + "|" + token);
+        for (String token : tokenize(employee.getLastName()))
+            keys.add(Field.LAST_NAME.key + "|" + token);
+
+        String email = employee.getEmail() == null ? "" : employee.getEmail().toLowerCase(Locale.ROOT);
+        if ( !email.isEmpty() )
+            keys.add(Field.EMAIL.key + "|" + email);
+        // the local part and each of its pieces, so "chandra" finds vivek.chandra@vcs.com
+        String localPart = email.contains("@") ? email.substring(0, email.indexOf('@')) : email;
+        if ( !localPart.isEmpty() )
+            keys.add(Field.EMAIL.key + "|" + localPart);
+        for (String token : localPart.split("[._+\\-]+"))
+            if ( !token.isEmpty() )
+                keys.add(Field.EMAIL.key + "|" + token);
+        return keys;
+    }
+
+    private static List<String> tokenize(String text) {
+
+        if ( text == null || text.isBlank() )
+            return List.of();
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+            if ( !token.isEmpty() )
+                tokens.add(token);
+        return tokens;
+    }
+}
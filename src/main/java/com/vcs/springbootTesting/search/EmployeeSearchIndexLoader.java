@@ -0,0 +1,37 @@
+package com.vcs.springbootTesting.search;
+
+import com.vcs.springbootTesting.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Builds the search index once the application is up by streaming the employees table.
+@Component
+public class EmployeeSearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndexLoader.class);
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    private EmployeeService employeeService;
+
+    public EmployeeSearchIndexLoader(EmployeeSearchIndex employeeSearchIndex, EmployeeService employeeService) {
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeService = employeeService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+
+        long start = System.nanoTime();
+        employeeSearchIndex.beginLoad();
+        try {
+            employeeService.streamAllEmployees(employeeSearchIndex::load);
+        } finally {
+            employeeSearchIndex.endLoad();
+        }
+        log.info("Indexed {} employees for search in {} ms", employeeSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
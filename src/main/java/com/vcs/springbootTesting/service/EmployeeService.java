@@ -1,19 +1,56 @@
 package com.vcs.springbootTesting.service;
 
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeChangePage;
+import com.vcs.springbootTesting.dto.EmployeeLookup;
+import com.vcs.springbootTesting.dto.EmployeePage;
+import com.vcs.springbootTesting.dto.EmployeeSearchResult;
+import com.vcs.springbootTesting.dto.EmployeeSummary;
 import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     Employee saveEmployee(Employee employee);
 
+    List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
+
     List<Employee> getAllEmployees();
 
+    // the first limit employees in id order
+    List<EmployeeSummary> getEmployeeSummaries(int limit);
+
+    // newest change, its commit seq versions the employee list; empty while a committed change is not numbered yet
+    Optional<EmployeeChange> getEmployeesVersion();
+
+    List<Map<String, Object>> getEmployeeFields(Collection<String> fields);
+
+    EmployeePage getEmployeesAfter(long after, int limit);
+
+    void streamAllEmployees(Consumer<Employee> consumer);
+
     Optional<Employee> getEmployeeById(long id);
 
+    Optional<Employee> getEmployeeByEmail(String email);
+
+    EmployeeLookup getEmployeesByIds(List<Long> ids);
+
+    // throws SearchIndexNotReadyException until the index has loaded the table
+    EmployeeSearchResult searchEmployees(String query, int limit);
+
     Employee updateEmployee(Employee updatedEmployee);
 
+    Optional<Employee> updateEmployee(long id, Employee employee, Long expectedVersion);
+
     void deleteEmployee(Long id);
+
+    CompletableFuture<EmployeeChangePage> getChangesSince(long since, int limit, Duration wait);
 }
@@ -0,0 +1,18 @@
+package com.vcs.springbootTesting.service;
+
+import com.vcs.springbootTesting.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+    Mono<Employee> saveEmployee(Employee employee);
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<Employee> getEmployeeById(long id);
+
+    Mono<Employee> updateEmployee(long id, Employee employee, Long expectedVersion);
+
+    Mono<Void> deleteEmployee(long id);
+}
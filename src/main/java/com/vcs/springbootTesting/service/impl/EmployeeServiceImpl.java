@@ -1,31 +1,179 @@
 package com.vcs.springbootTesting.service.impl;
 
+import com.vcs.springbootTesting.cache.EmployeeCache;
+import com.vcs.springbootTesting.cache.SingleFlight;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeChangePage;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult.Status;
+import com.vcs.springbootTesting.dto.EmployeeLookup;
+import com.vcs.springbootTesting.dto.EmployeePage;
+import com.vcs.springbootTesting.dto.EmployeeSearchResult;
+import com.vcs.springbootTesting.dto.EmployeeSummary;
 import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.exception.SearchIndexNotReadyException;
 import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
+import com.vcs.springbootTesting.outbox.EmployeeOutbox;
+import com.vcs.springbootTesting.repository.EmployeeProjectionRepository;
 import com.vcs.springbootTesting.repository.EmployeeRepository;
+import com.vcs.springbootTesting.search.EmployeeSearchIndex;
 import com.vcs.springbootTesting.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
+    static final int BATCH_CHUNK_SIZE = 500;
+
+    static final String EMAIL_UNIQUE_INDEX = "uk_employees_email";
+
+    static final int MAX_SEARCH_RESULTS = 100;
+
+    static final int MAX_LOOKUP_IDS = 1000;
+
+    // ids per IN list, keeps statements well under driver and optimizer limits
+    static final int LOOKUP_CHUNK_SIZE = 500;
+
+    static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
+    static final Duration MAX_CHANGES_WAIT = Duration.ofSeconds(30);
+
     private EmployeeRepository employeeRepository;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    private EntityManager entityManager;
+
+    private EmployeeCache employeeCache;
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    private EmployeeOutbox employeeOutbox;
+
+    // concurrent cache misses for the same id or email share one query
+    private SingleFlight<Long, Optional<Employee>> idLookups;
+
+    private SingleFlight<String, Optional<Employee>> emailLookups;
+
+    private Counter duplicateEmailRejections;
+
+    private Counter batchDuplicateEmailRejections;
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager, EmployeeCache employeeCache,
+                               EmployeeSearchIndex employeeSearchIndex, EmployeeOutbox employeeOutbox, MeterRegistry meterRegistry) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.employeeCache = employeeCache;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeOutbox = employeeOutbox;
+        this.idLookups = new SingleFlight<>("id", meterRegistry);
+        this.emailLookups = new SingleFlight<>("email", meterRegistry);
+        this.duplicateEmailRejections = duplicateEmailCounter(meterRegistry, "single");
+        this.batchDuplicateEmailRejections = duplicateEmailCounter(meterRegistry, "batch");
+    }
+
+    private static Counter duplicateEmailCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("employee.duplicate.email.rejections")
+                .description("Creates rejected because the email is already taken")
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if ( savedEmployee.isPresent() )
+        // cheap rejection for hot emails, the unique index is what actually guarantees uniqueness
+        if ( employeeCache.getByEmail(employee.getEmail()).isPresent() ) {
+            duplicateEmailRejections.increment();
             throw new ResourceNotFoundException("Employee already exists with the given email: "+employee.getEmail());
+        }
+
+        // new rows always start at version 0 whatever the client sent
+        employee.setVersion(0L);
+        try {
+            Employee saved = employeeRepository.saveAndFlush(employee);
+            employeeOutbox.record(EmployeeChange.Type.CREATED, saved);
+            afterCommit(() -> {
+                employeeCache.put(saved);
+                employeeSearchIndex.put(saved);
+                forgetLookups(saved);
+            });
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if ( isDuplicateEmail(e) ) {
+                duplicateEmailRejections.increment();
+                throw new ResourceNotFoundException("Employee already exists with the given email: "+employee.getEmail(), e);
+            }
+            throw e;
+        }
+    }
 
-        return employeeRepository.save(employee);
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_INDEX);
+    }
+
+    @Override
+    @Transactional
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        // case-insensitive like the default MySQL collation the duplicate check runs against
+        Set<String> seenEmails = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        for (int from = 0; from < employees.size(); from += BATCH_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_CHUNK_SIZE, employees.size());
+
+            Map<String, Integer> candidates = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = from; i < to; i++) {
+                Employee employee = employees.get(i);
+                if ( employee == null || employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null )
+                    results[i] = new EmployeeBatchResult(i, Status.INVALID, employee, "firstName, lastName and email are required");
+                else if ( !seenEmails.add(employee.getEmail()) ) {
+                    batchDuplicateEmailRejections.increment();
+                    results[i] = new EmployeeBatchResult(i, Status.DUPLICATE, employee, "Email appears more than once in the batch: "+employee.getEmail());
+                } else
+                    candidates.put(employee.getEmail(), i);
+            }
+
+            if ( candidates.isEmpty() )
+                continue;
+
+            for (String email : employeeRepository.findExistingEmails(candidates.keySet())) {
+                Integer i = candidates.remove(email);
+                if ( i != null ) {
+                    batchDuplicateEmailRejections.increment();
+                    results[i] = new EmployeeBatchResult(i, Status.DUPLICATE, employees.get(i), "Employee already exists with the given email: "+email);
+                }
+            }
+
+            List<Employee> inserted = employeeRepository.insertAll(candidates.values().stream().map(employees::get).toList());
+            employeeOutbox.recordAll(EmployeeChange.Type.CREATED, inserted);
+            for (Employee employee : inserted) {
+                int i = candidates.get(employee.getEmail());
+                results[i] = new EmployeeBatchResult(i, Status.CREATED, employee, null);
+                afterCommit(() -> employeeSearchIndex.put(employee));
+            }
+        }
+        return Arrays.asList(results);
     }
 
     @Override
@@ -33,18 +181,235 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.findAll();
     }
 
+    // read-only transactions run with FlushMode.MANUAL, and projections never enter the persistence context
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> getEmployeeSummaries(int limit) {
+        return employeeRepository.findAllSummaries(PageRequest.ofSize(Math.max(1, limit)));
+    }
+
+    @Override
+    public Optional<EmployeeChange> getEmployeesVersion() {
+        return employeeOutbox.head();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEmployeeFields(Collection<String> fields) {
+
+        Set<String> selected = new LinkedHashSet<>(fields);
+        if ( selected.isEmpty() )
+            throw new IllegalArgumentException("At least one employee field is required");
+        for (String field : selected)
+            if ( !EmployeeProjectionRepository.FIELDS.contains(field) )
+                throw new IllegalArgumentException("Unknown employee field: " + field);
+
+        return employeeRepository.findAllFields(selected);
+    }
+
+    @Override
+    public EmployeePage getEmployeesAfter(long after, int limit) {
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // fetch one extra row to know whether another page exists without a count query
+        List<Employee> employees = employeeRepository.findPageAfter(after, PageRequest.ofSize(pageSize + 1));
+        if ( employees.size() <= pageSize )
+            return new EmployeePage(employees, null);
+
+        List<Employee> page = employees.subList(0, pageSize);
+        return new EmployeePage(page, page.get(pageSize - 1).getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // keep the persistence context empty so memory stays flat for any table size
+                entityManager.detach(employee);
+            });
+        }
+    }
+
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+
+        Optional<Employee> cached = employeeCache.get(id);
+        if ( cached.isPresent() )
+            return cached;
+
+        Optional<Employee> employee = idLookups.load(id, () -> {
+            Optional<Employee> loaded = employeeRepository.findById(id);
+            loaded.ifPresent(employeeCache::fill);
+            return loaded;
+        });
+        // the callers of one flight share the loaded instance, and callers mutate what they get back
+        return employee.map(EmployeeServiceImpl::copyOf);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeLookup getEmployeesByIds(List<Long> ids) {
+
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if ( requested.size() > MAX_LOOKUP_IDS )
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_IDS + " ids can be looked up at once");
+
+        Map<Long, Employee> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : requested) {
+            Optional<Employee> cached = employeeCache.get(id);
+            if ( cached.isPresent() )
+                found.put(id, cached.get());
+            else
+                misses.add(id);
+        }
+
+        for (int from = 0; from < misses.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = misses.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, misses.size()));
+            for (Employee employee : employeeRepository.findAllById(chunk)) {
+                employeeCache.fill(employee);
+                found.put(employee.getId(), copyOf(employee));
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            Employee employee = found.get(id);
+            if ( employee == null )
+                missingIds.add(id);
+            else
+                employees.add(employee);
+        }
+        return new EmployeeLookup(employees, missingIds);
     }
 
     @Override
+    public Optional<Employee> getEmployeeByEmail(String email) {
+
+        Optional<Employee> cached = employeeCache.getByEmail(email);
+        if ( cached.isPresent() )
+            return cached;
+
+        // one flight per address however it is cased, like the cache's email index
+        Optional<Employee> employee = emailLookups.load(EmployeeCache.emailKey(email), () -> {
+            Optional<Employee> loaded = employeeRepository.findByEmail(email);
+            loaded.ifPresent(employeeCache::fill);
+            return loaded;
+        });
+        return employee.map(EmployeeServiceImpl::copyOf);
+    }
+
+    private static Employee copyOf(Employee employee) {
+        return employee.toBuilder().build();
+    }
+
+    @Override
+    public EmployeeSearchResult searchEmployees(String query, int limit) {
+
+        // a partly loaded index would answer with whatever happens to be loaded so far
+        if ( !employeeSearchIndex.isReady() )
+            throw new SearchIndexNotReadyException("The search index is still loading, retry shortly");
+        return employeeSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    @Override
+    @Transactional
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        try {
+            Employee saved = employeeRepository.save(updatedEmployee);
+            employeeOutbox.record(EmployeeChange.Type.UPDATED, saved);
+            afterCommit(() -> {
+                employeeCache.put(saved);
+                employeeSearchIndex.put(saved);
+                forgetLookups(saved);
+            });
+            return saved;
+        } catch (RuntimeException e) {
+            // the caller may hold a modified copy, the stored row is unknown now
+            employeeCache.evict(updatedEmployee.getId());
+            throw e;
+        }
     }
 
     @Override
+    @Transactional
+    public Optional<Employee> updateEmployee(long id, Employee employee, Long expectedVersion) {
+
+        long updatedAt = System.currentTimeMillis();
+        int updatedRows = expectedVersion == null
+                ? employeeRepository.updateById(id, employee.getFirstName(), employee.getLastName(), employee.getEmail(), updatedAt)
+                : employeeRepository.updateByIdAndVersion(id, expectedVersion, employee.getFirstName(), employee.getLastName(), employee.getEmail(), updatedAt);
+
+        if ( updatedRows == 0 ) {
+            employeeCache.evict(id);
+            // only the failure path pays for telling a stale version apart from a missing row
+            if ( expectedVersion != null && employeeRepository.existsById(id) )
+                throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+            return Optional.empty();
+        }
+
+        // without If-Match the statement bumped whatever version the row had, the row lock held until commit keeps it current
+        long version = expectedVersion != null
+                ? expectedVersion + 1
+                : employeeRepository.findVersionById(id).orElseThrow(() -> new ObjectOptimisticLockingFailureException(Employee.class, id));
+        Employee updatedEmployee = employee.toBuilder().id(id).version(version).updatedAt(updatedAt).build();
+        employeeOutbox.record(EmployeeChange.Type.UPDATED, updatedEmployee);
+
+        afterCommit(() -> {
+            employeeSearchIndex.put(updatedEmployee);
+            forgetLookups(updatedEmployee);
+            employeeCache.put(updatedEmployee);
+        });
+        return Optional.of(updatedEmployee);
+    }
+
+    @Override
+    @Transactional
     public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+        // deleting a missing id stays a no-op and leaves nothing in the change log
+        if ( employeeRepository.deleteRowById(id) == 0 )
+            return;
+        employeeOutbox.record(EmployeeChange.Type.DELETED, Employee.builder().id(id).build());
+        afterCommit(() -> {
+            employeeCache.evictDeleted(id);
+            employeeSearchIndex.remove(id);
+            idLookups.forget(id);
+        });
+    }
+
+    // a lookup already in flight may have read the row before this write, later callers must not join it
+    private void forgetLookups(Employee employee) {
+        idLookups.forget(employee.getId());
+        if ( employee.getEmail() != null )
+            emailLookups.forget(EmployeeCache.emailKey(employee.getEmail()));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeChangePage> getChangesSince(long since, int limit, Duration wait) {
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE));
+        Duration maxWait = wait.isNegative() ? Duration.ZERO : wait.compareTo(MAX_CHANGES_WAIT) > 0 ? MAX_CHANGES_WAIT : wait;
+        return employeeOutbox.awaitChangesSince(since, pageSize, maxWait);
+    }
+
+    // keeps the cache and search index from seeing writes that end up rolled back
+    private static void afterCommit(Runnable action) {
+
+        if ( !TransactionSynchronizationManager.isSynchronizationActive() ) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,101 @@
+package com.vcs.springbootTesting.service.impl;
+
+import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
+import com.vcs.springbootTesting.model.EmployeeRecord;
+import com.vcs.springbootTesting.repository.ReactiveEmployeeRepository;
+import com.vcs.springbootTesting.service.ReactiveEmployeeService;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Every write appends its employee_changes row in the same R2DBC transaction, like EmployeeServiceImpl does through
+// EmployeeOutbox, so the change feed and the table ETag see reactive writes too. The transaction manager is kept
+// private: as a bean next to the JPA one it would make @Transactional ambiguous.
+@Service
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository reactiveEmployeeRepository, ConnectionFactory connectionFactory) {
+        this(reactiveEmployeeRepository, TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)));
+    }
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository reactiveEmployeeRepository, TransactionalOperator transactionalOperator) {
+        this.reactiveEmployeeRepository = reactiveEmployeeRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+
+        // the email index is the only unique key besides the generated id
+        return reactiveEmployeeRepository.save(EmployeeRecord.newRecord(employee))
+                .map(EmployeeRecord::toEmployee)
+                .flatMap(savedEmployee -> record(EmployeeChange.Type.CREATED, savedEmployee).thenReturn(savedEmployee))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new ResourceNotFoundException("Employee already exists with the given email: "+employee.getEmail(), e));
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return reactiveEmployeeRepository.streamAll().map(EmployeeRecord::toEmployee);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return reactiveEmployeeRepository.findById(id).map(EmployeeRecord::toEmployee);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(long id, Employee employee, Long expectedVersion) {
+
+        long updatedAt = System.currentTimeMillis();
+        Mono<Integer> updatedRows = expectedVersion == null
+                ? reactiveEmployeeRepository.updateById(id, employee.getFirstName(), employee.getLastName(), employee.getEmail(), updatedAt)
+                : reactiveEmployeeRepository.updateByIdAndVersion(id, expectedVersion, employee.getFirstName(), employee.getLastName(), employee.getEmail(), updatedAt);
+
+        return updatedRows.flatMap(rows -> {
+            if ( rows > 0 ) {
+                // without If-Match the statement bumped whatever version the row had, read it back under the row lock
+                Mono<Long> version = expectedVersion != null ? Mono.just(expectedVersion + 1) : reactiveEmployeeRepository.findVersionById(id);
+                return version.map(updatedVersion -> employee.toBuilder().id(id).version(updatedVersion).updatedAt(updatedAt).build())
+                        .flatMap(updatedEmployee -> record(EmployeeChange.Type.UPDATED, updatedEmployee).thenReturn(updatedEmployee));
+            }
+            if ( expectedVersion == null )
+                return Mono.empty();
+            // only the failure path pays for telling a stale version apart from a missing row
+            return reactiveEmployeeRepository.existsById(id)
+                    .flatMap(exists -> exists
+                            ? Mono.<Employee>error(new ObjectOptimisticLockingFailureException(Employee.class, id))
+                            : Mono.<Employee>empty());
+        }).as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(long id) {
+        // deleting a missing id stays a no-op and leaves nothing in the change log
+        return reactiveEmployeeRepository.deleteRowById(id)
+                .filter(rows -> rows > 0)
+                .flatMap(rows -> record(EmployeeChange.Type.DELETED, Employee.builder().id(id).build()))
+                .as(transactionalOperator::transactional)
+                .then();
+    }
+
+    private Mono<Integer> record(EmployeeChange.Type type, Employee employee) {
+        EmployeeChange change = EmployeeChange.of(type, employee, System.currentTimeMillis());
+        return reactiveEmployeeRepository.insertChange(change.getEmployeeId(), change.getType().name(), change.getFirstName(),
+                change.getLastName(), change.getEmail(), change.getVersion(), change.getChangedAt());
+    }
+}
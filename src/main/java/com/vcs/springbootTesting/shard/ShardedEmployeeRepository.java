@@ -0,0 +1,454 @@
+package com.vcs.springbootTesting.shard;
+
+import com.vcs.springbootTesting.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+// EmployeeRepository's operations over N shard databases, for when one MySQL instance can no longer hold the table.
+// Rows live on the shard a hash of their id picks. A directory database hands out the ids (one sequence for all
+// shards) and maps every email to its id, so findByEmail and the duplicate check are one indexed lookup plus at most
+// one shard. Queries on anything else go to every shard in parallel and are merged in id order as rows arrive.
+// No transaction spans the databases: the directory is written first and put back when the shard write fails.
+// Not wired into EmployeeService yet. Doing so means deciding how the change log (EmployeeOutbox, today a table in
+// the one database), the cache and the search index follow writes that commit on several databases.
+public class ShardedEmployeeRepository implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedEmployeeRepository.class);
+
+    private static final String COLUMNS = "id, first_name, last_name, email, version, updated_at";
+
+    private static final String INSERT_SQL = "insert into employees (" + COLUMNS + ") values (?, ?, ?, ?, 0, ?)";
+
+    private static final String SELECT_BY_ID_SQL = "select " + COLUMNS + " from employees where id = ?";
+
+    private static final String SELECT_BY_IDS_SQL = "select " + COLUMNS + " from employees where id in (:ids)";
+
+    private static final String SELECT_ALL_SQL = "select " + COLUMNS + " from employees order by id";
+
+    private static final String SELECT_BY_NAME_SQL = "select " + COLUMNS + " from employees where first_name = ? and last_name = ? order by id";
+
+    private static final String EXISTS_SQL = "select count(*) from employees where id = ?";
+
+    private static final String UPDATE_SQL = "update employees set first_name = ?, last_name = ?, email = ?, version = version + 1, updated_at = ? where id = ?";
+
+    private static final String UPDATE_VERSION_SQL = UPDATE_SQL + " and version = ?";
+
+    private static final String DELETE_SQL = "delete from employees where id = ?";
+
+    private static final String DIRECTORY_INSERT_SQL = "insert into employee_directory (email) values (?)";
+
+    private static final String DIRECTORY_ID_SQL = "select id from employee_directory where email = ?";
+
+    private static final String DIRECTORY_EMAIL_FOR_UPDATE_SQL = "select email from employee_directory where id = ? for update";
+
+    private static final String DIRECTORY_EMAILS_SQL = "select email from employee_directory where email in (:emails)";
+
+    private static final String DIRECTORY_UPDATE_SQL = "update employee_directory set email = ? where id = ?";
+
+    private static final String DIRECTORY_DELETE_SQL = "delete from employee_directory where id = ?";
+
+    // rows per round trip on the scatter queries; MySQL only streams with useCursorFetch=true on the URL
+    static final int FETCH_SIZE = 500;
+
+    // rows a shard may run ahead of the merge before its query waits
+    static final int MERGE_BUFFER_SIZE = 1000;
+
+    // scatter queries running at once, more wait for a slot
+    static final int MAX_CONCURRENT_SCANS = 8;
+
+    private static final RowMapper<Employee> EMPLOYEE_ROW_MAPPER = (resultSet, rowNum) -> mapRow(resultSet);
+
+    // marks the end of a shard's rows in its merge queue
+    private static final Object END = new Object();
+
+    private JdbcTemplate directory;
+
+    private NamedParameterJdbcTemplate namedDirectory;
+
+    private List<JdbcTemplate> shards;
+
+    private List<NamedParameterJdbcTemplate> namedShards;
+
+    // every write commits in a transaction of its own database: the pools may hand out connections with autocommit
+    // off (spring.datasource.hikari.auto-commit=false in profile "prod"), and each batch is all or nothing
+    private TransactionTemplate directoryTransaction;
+
+    private List<TransactionTemplate> shardTransactions;
+
+    // a thread per shard for each of the maxConcurrentScans scatter queries: the queries of a merge block on it and
+    // must never queue behind each other. Writes share the pool, they only ever wait for their own database
+    private ExecutorService executor;
+
+    private Semaphore scanPermits;
+
+    public ShardedEmployeeRepository(DataSource directory, List<DataSource> shards) {
+        this(directory, shards, MAX_CONCURRENT_SCANS);
+    }
+
+    public ShardedEmployeeRepository(DataSource directory, List<DataSource> shards, int maxConcurrentScans) {
+        if ( shards.isEmpty() )
+            throw new IllegalArgumentException("At least one shard is required");
+        this.directory = new JdbcTemplate(directory);
+        this.namedDirectory = new NamedParameterJdbcTemplate(this.directory);
+        this.shards = shards.stream().map(JdbcTemplate::new).toList();
+        this.namedShards = this.shards.stream().map(NamedParameterJdbcTemplate::new).toList();
+        this.directoryTransaction = new TransactionTemplate(new DataSourceTransactionManager(directory));
+        this.shardTransactions = shards.stream().map(shard -> new TransactionTemplate(new DataSourceTransactionManager(shard))).toList();
+        this.scanPermits = new Semaphore(maxConcurrentScans);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentScans * shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "employee-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    // Lamping and Veach's jump consistent hash: spreads ids evenly, and going from n to n + 1 shards only moves the
+    // rows that now belong on the new shard. Those still have to be copied over, the shard count is not changed live
+    static int shardOf(long id, int shardCount) {
+        long key = id;
+        long shard = -1;
+        long next = 0;
+        while ( next < shardCount ) {
+            shard = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((shard + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) shard;
+    }
+
+    private JdbcTemplate shardFor(long id) {
+        return shards.get(shardOf(id, shards.size()));
+    }
+
+    public Employee insert(Employee employee) {
+        return insertAll(List.of(employee)).get(0);
+    }
+
+    // takes ids for the employees from the directory as one batch, then inserts each shard's rows as one batch, the
+    // shards in parallel. A taken email fails the directory batch with a DuplicateKeyException before any shard is written
+    public List<Employee> insertAll(List<Employee> employees) {
+
+        if ( employees.isEmpty() )
+            return employees;
+
+        long updatedAt = System.currentTimeMillis();
+        directoryTransaction.executeWithoutResult(status -> directory.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DIRECTORY_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Employee employee : employees) {
+                    statement.setString(1, employee.getEmail());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int i = 0;
+                    while ( keys.next() && i < employees.size() )
+                        employees.get(i++).setId(keys.getLong(1));
+                }
+            }
+            return null;
+        }));
+
+        Map<Integer, List<Employee>> byShard = new HashMap<>();
+        for (Employee employee : employees)
+            byShard.computeIfAbsent(shardOf(employee.getId(), shards.size()), shard -> new ArrayList<>()).add(employee);
+
+        try {
+            onShards(byShard, (shard, rows) -> shardTransactions.get(shard).execute(status ->
+                    shards.get(shard).batchUpdate(INSERT_SQL, rows, rows.size(), (statement, employee) -> {
+                        statement.setLong(1, employee.getId());
+                        statement.setString(2, employee.getFirstName());
+                        statement.setString(3, employee.getLastName());
+                        statement.setString(4, employee.getEmail());
+                        statement.setLong(5, updatedAt);
+                    })));
+        } catch (RuntimeException e) {
+            undoInsert(byShard);
+            throw e;
+        }
+
+        for (Employee employee : employees) {
+            employee.setVersion(0L);
+            employee.setUpdatedAt(updatedAt);
+        }
+        return employees;
+    }
+
+    // other shards may have committed their rows before one failed, none of the batch is kept
+    private void undoInsert(Map<Integer, List<Employee>> byShard) {
+        List<Long> ids = byShard.values().stream().flatMap(List::stream).map(Employee::getId).toList();
+        try {
+            onShards(byShard, (shard, rows) -> shardTransactions.get(shard).execute(status ->
+                    shards.get(shard).batchUpdate(DELETE_SQL, rows, rows.size(), (statement, employee) -> statement.setLong(1, employee.getId()))));
+            directoryTransaction.executeWithoutResult(status ->
+                    directory.batchUpdate(DIRECTORY_DELETE_SQL, ids, ids.size(), (statement, id) -> statement.setLong(1, id)));
+        } catch (DataAccessException e) {
+            log.error("Could not undo the failed insert of employees {}, their emails stay taken", ids, e);
+        }
+    }
+
+    public Optional<Employee> findById(long id) {
+        return shardFor(id).query(SELECT_BY_ID_SQL, EMPLOYEE_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    // each shard is asked for its own ids only, all in parallel; no particular order, like JpaRepository.findAllById
+    public List<Employee> findAllById(Collection<Long> ids) {
+
+        Map<Integer, List<Long>> byShard = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids))
+            if ( id != null )
+                byShard.computeIfAbsent(shardOf(id, shards.size()), shard -> new ArrayList<>()).add(id);
+
+        List<Employee> employees = new ArrayList<>(ids.size());
+        onShards(byShard, (shard, shardIds) -> namedShards.get(shard).query(SELECT_BY_IDS_SQL, Map.of("ids", shardIds), EMPLOYEE_ROW_MAPPER))
+                .forEach(employees::addAll);
+        return employees;
+    }
+
+    public boolean existsById(long id) {
+        Integer count = shardFor(id).queryForObject(EXISTS_SQL, Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        List<Long> ids = directory.queryForList(DIRECTORY_ID_SQL, Long.class, email);
+        return ids.isEmpty() ? Optional.empty() : findById(ids.get(0));
+    }
+
+    // duplicate check for a whole chunk of emails, answered by the directory alone
+    public List<String> findExistingEmails(Collection<String> emails) {
+        if ( emails.isEmpty() )
+            return List.of();
+        return namedDirectory.queryForList(DIRECTORY_EMAILS_SQL, Map.of("emails", emails), String.class);
+    }
+
+    // returns the affected row count (0 when the id does not exist); a new email taken by someone else throws a
+    // DuplicateKeyException from the directory before the row is touched
+    public int updateById(long id, String firstName, String lastName, String email, long updatedAt) {
+        return update(id, email, UPDATE_SQL, firstName, lastName, email, updatedAt, id);
+    }
+
+    // optimistic variant, returns 0 when the id does not exist or the version has moved on
+    public int updateByIdAndVersion(long id, long version, String firstName, String lastName, String email, long updatedAt) {
+        return update(id, email, UPDATE_VERSION_SQL, firstName, lastName, email, updatedAt, id, version);
+    }
+
+    // the directory row stays locked until the shard has answered: concurrent updates of the same employee run one
+    // after the other, and a failed or missed shard update rolls the email back instead of writing an older one over
+    // a newer one. Only a directory commit failing after the shard commit leaves the two apart
+    private int update(long id, String email, String sql, Object... args) {
+        Integer updatedRows = directoryTransaction.execute(status -> {
+            List<String> emails = directory.queryForList(DIRECTORY_EMAIL_FOR_UPDATE_SQL, String.class, id);
+            if ( emails.isEmpty() )
+                return 0;
+
+            if ( !emails.get(0).equals(email) )
+                directory.update(DIRECTORY_UPDATE_SQL, email, id);
+            int shardRows = updateShard(shardOf(id, shards.size()), sql, args);
+            if ( shardRows == 0 )
+                status.setRollbackOnly();
+            return shardRows;
+        });
+        return updatedRows == null ? 0 : updatedRows;
+    }
+
+    // the row goes first, a directory entry left behind by a failure only keeps its email taken
+    public void deleteById(long id) {
+        updateShard(shardOf(id, shards.size()), DELETE_SQL, id);
+        updateDirectory(DIRECTORY_DELETE_SQL, id);
+    }
+
+    private int updateDirectory(String sql, Object... args) {
+        Integer updatedRows = directoryTransaction.execute(status -> directory.update(sql, args));
+        return updatedRows == null ? 0 : updatedRows;
+    }
+
+    private int updateShard(int shard, String sql, Object... args) {
+        Integer updatedRows = shardTransactions.get(shard).execute(status -> shards.get(shard).update(sql, args));
+        return updatedRows == null ? 0 : updatedRows;
+    }
+
+    public List<Employee> findAll() {
+        List<Employee> employees = new ArrayList<>();
+        streamAll(employees::add);
+        return employees;
+    }
+
+    // every employee in id order at flat memory, whatever the table size: see merge
+    public void streamAll(Consumer<Employee> consumer) {
+        merge(SELECT_ALL_SQL, new Object[0], consumer);
+    }
+
+    // the name queries of EmployeeRepository (findByJPQL and friends), every match in id order
+    public List<Employee> findByFirstNameAndLastName(String firstName, String lastName) {
+        List<Employee> employees = new ArrayList<>();
+        merge(SELECT_BY_NAME_SQL, new Object[] {firstName, lastName}, employees::add);
+        return employees;
+    }
+
+    private record Head(Employee employee, BlockingQueue<Object> rows) {
+    }
+
+    // Scatter-gather: the query runs on every shard at once, each on a forward-only cursor feeding a bounded queue,
+    // and the consumer is handed the smallest id at the head of the queues until all are drained. Rows reach the
+    // consumer while the shards are still sending, and a slow consumer holds the shards back instead of filling memory.
+    private void merge(String sql, Object[] args, Consumer<Employee> consumer) {
+
+        try {
+            scanPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a scan slot", e);
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<BlockingQueue<Object>> queues = new ArrayList<>(shards.size());
+        for (JdbcTemplate shard : shards) {
+            BlockingQueue<Object> rows = new ArrayBlockingQueue<>(MERGE_BUFFER_SIZE);
+            queues.add(rows);
+            executor.execute(() -> scan(shard, sql, args, rows, cancelled));
+        }
+
+        try {
+            PriorityQueue<Head> heads = new PriorityQueue<>(shards.size(), Comparator.comparingLong((Head head) -> head.employee().getId()));
+            for (BlockingQueue<Object> rows : queues)
+                next(rows).ifPresent(employee -> heads.add(new Head(employee, rows)));
+
+            while ( !heads.isEmpty() ) {
+                Head head = heads.poll();
+                consumer.accept(head.employee());
+                next(head.rows()).ifPresent(employee -> heads.add(new Head(employee, head.rows())));
+            }
+        } finally {
+            // stops the shards still sending when the consumer or another shard failed
+            cancelled.set(true);
+            scanPermits.release();
+        }
+    }
+
+    private static void scan(JdbcTemplate shard, String sql, Object[] args, BlockingQueue<Object> rows, AtomicBoolean cancelled) {
+        Object last = END;
+        try {
+            shard.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                new ArgumentPreparedStatementSetter(args).setValues(statement);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> offer(rows, mapRow(resultSet), cancelled));
+        } catch (CancellationException e) {
+            return;
+        } catch (Throwable e) {
+            last = e;
+        }
+        try {
+            offer(rows, last, cancelled);
+        } catch (CancellationException e) {
+            // nobody is waiting for the end anymore
+        }
+    }
+
+    private static void offer(BlockingQueue<Object> rows, Object row, AtomicBoolean cancelled) {
+        try {
+            while ( !rows.offer(row, 100, TimeUnit.MILLISECONDS) )
+                if ( cancelled.get() )
+                    throw new CancellationException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    private static Optional<Employee> next(BlockingQueue<Object> rows) {
+        Object row;
+        try {
+            row = rows.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while merging shard results", e);
+        }
+        if ( row == END )
+            return Optional.empty();
+        if ( row instanceof RuntimeException e )
+            throw e;
+        if ( row instanceof Throwable e )
+            throw new IllegalStateException("Shard query failed", e);
+        return Optional.of((Employee) row);
+    }
+
+    // runs the work of every shard (by index) in the map at once and returns the results once all are done
+    private <T, R> List<R> onShards(Map<Integer, List<T>> byShard, BiFunction<Integer, List<T>, R> work) {
+
+        if ( byShard.size() == 1 ) {
+            Map.Entry<Integer, List<T>> only = byShard.entrySet().iterator().next();
+            return List.of(work.apply(only.getKey(), only.getValue()));
+        }
+
+        List<Future<R>> futures = new ArrayList<>(byShard.size());
+        for (Map.Entry<Integer, List<T>> entry : byShard.entrySet())
+            futures.add(executor.submit(() -> work.apply(entry.getKey(), entry.getValue())));
+
+        List<R> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if ( failure == null )
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException("Shard operation failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the shards", e);
+            }
+        }
+        if ( failure != null )
+            throw failure;
+        return results;
+    }
+
+    private static Employee mapRow(ResultSet resultSet) throws SQLException {
+        return Employee.builder()
+                .id(resultSet.getLong(1))
+                .firstName(resultSet.getString(2))
+                .lastName(resultSet.getString(3))
+                .email(resultSet.getString(4))
+                .version(resultSet.getLong(5))
+                .updatedAt(resultSet.getLong(6))
+                .build();
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        for (JdbcTemplate shard : shards)
+            if ( shard.getDataSource() instanceof AutoCloseable closeable )
+                closeable.close();
+        if ( directory.getDataSource() instanceof AutoCloseable closeable )
+            closeable.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.vcs.springbootTesting.throttle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit that follows the measured latency, after the gradient algorithm of Netflix's concurrency-limits.
+// A long-term average of the response time is the no-queueing baseline; while the recent average stays near it the
+// limit grows by about its square root, once requests start queueing (recent latency above 1.5x the baseline) it
+// shrinks in proportion. Requests over the limit are rejected instead of waiting for a connection or a thread.
+public class AdaptiveConcurrencyLimiter {
+
+    // how far recent latency may drift above the baseline before the limit is cut
+    private static final double TOLERANCE = 1.5;
+
+    // share of each new estimate in the limit, damps the reaction to single samples
+    private static final double SMOOTHING = 0.2;
+
+    // samples the short and long-term averages span
+    private static final int SHORT_WINDOW = 10;
+
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    // guarded by this, in nanos
+    private double shortRtt;
+
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = this.maxLimit;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean tryAcquire() {
+        while ( true ) {
+            int current = inFlight.get();
+            if ( current >= (int) limit )
+                return false;
+            if ( inFlight.compareAndSet(current, current + 1) )
+                return true;
+        }
+    }
+
+    // for requests whose duration says nothing about the load (failures, responses paced by the client)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long rttNanos) {
+        onSample(rttNanos, inFlight.getAndDecrement());
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight) {
+
+        double rtt = Math.max(1, rttNanos);
+        shortRtt = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / LONG_WINDOW;
+        // once latency is back down after a long overload, the baseline follows it quickly rather than over the whole window
+        if ( longRtt / shortRtt > 2 )
+            longRtt *= 0.95;
+
+        // a limit that is not being used says nothing about the capacity behind it
+        if ( inFlight < limit / 2 )
+            return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + estimate * SMOOTHING));
+    }
+}
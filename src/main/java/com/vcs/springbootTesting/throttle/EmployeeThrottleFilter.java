@@ -0,0 +1,147 @@
+package com.vcs.springbootTesting.throttle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Sheds load on the employee endpoints before it reaches the service: 429 when the client or the endpoint group is
+// over its rate, 503 when the group's concurrency limit is reached. Each EndpointGroup is its own bulkhead, so a
+// consumer pulling the whole table over and over runs out of LIST slots while lookups keep theirs (and their share
+// of the connection pool). Both responses carry Retry-After.
+public class EmployeeThrottleFilter extends OncePerRequestFilter {
+
+    private final Map<EndpointGroup, EndpointLimits> limits;
+
+    private final String clientHeader;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<EndpointGroup, Counter> rateRejections = new EnumMap<>(EndpointGroup.class);
+
+    private final Map<EndpointGroup, Counter> concurrencyRejections = new EnumMap<>(EndpointGroup.class);
+
+    public EmployeeThrottleFilter(Map<EndpointGroup, EndpointLimits> limits, String clientHeader, MeterRegistry meterRegistry,
+                                  LongSupplier nanoTime) {
+        this.limits = new EnumMap<>(limits);
+        this.clientHeader = clientHeader;
+        this.nanoTime = nanoTime;
+        for (Map.Entry<EndpointGroup, EndpointLimits> entry : this.limits.entrySet()) {
+            String group = entry.getKey().propertyName();
+            rateRejections.put(entry.getKey(), rejectionCounter(meterRegistry, group, "rate"));
+            concurrencyRejections.put(entry.getKey(), rejectionCounter(meterRegistry, group, "concurrency"));
+            AdaptiveConcurrencyLimiter limiter = entry.getValue().getConcurrencyLimiter();
+            if ( limiter == null )
+                continue;
+            Gauge.builder("employee.throttle.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder("employee.throttle.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests holding a concurrency slot")
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String group, String reason) {
+        return Counter.builder("employee.throttle.rejections")
+                .description("Requests shed before reaching the service, by endpoint group and the limit they hit")
+                .tag("group", group)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        EndpointGroup group = EndpointGroup.of(request);
+        EndpointLimits groupLimits = limits.get(group);
+        if ( groupLimits == null ) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = nanoTime.getAsLong();
+        long wait = groupLimits.tryAcquireClient(clientOf(request), now);
+        if ( wait == 0 )
+            wait = groupLimits.tryAcquireEndpoint(now);
+        if ( wait > 0 ) {
+            rateRejections.get(group).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Rate limit exceeded for " + group.propertyName() + " requests");
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = groupLimits.getConcurrencyLimiter();
+        if ( limiter == null ) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if ( !limiter.tryAcquire() ) {
+            concurrencyRejections.get(group).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), "Too many concurrent " + group.propertyName() + " requests");
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if ( request.isAsyncStarted() ) {
+                // streamed and deferred responses take as long as the client reads, they hold the slot but are no sample
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limiter.release();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else if ( completed && response.getStatus() < 500 ) {
+                limiter.release(nanoTime.getAsLong() - now);
+            } else {
+                // failures are often fast, they would pass for spare capacity
+                limiter.release();
+            }
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = clientHeader == null || clientHeader.isBlank() ? null : request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.vcs.springbootTesting.throttle;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+
+// The employee endpoints by cost, each group with its own rate limits and concurrency limit (its bulkhead)
+public enum EndpointGroup {
+
+    // whole-table reads and bulk transfers: the list, field and page views, streams, batch creates, imports and exports
+    LIST,
+    // single rows and bounded id lookups, the search index
+    LOOKUP,
+    // creates, updates and deletes
+    WRITE,
+    // long polls on /changes, mostly waiting; rate limited only
+    POLL;
+
+    private static final String BASE_PATH = "/api/employees";
+
+    public String propertyName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static EndpointGroup of(HttpServletRequest request) {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if ( path.startsWith(BASE_PATH + "/changes") )
+            return POLL;
+        if ( path.startsWith(BASE_PATH + "/stream") || path.startsWith(BASE_PATH + "/batch") || path.startsWith(BASE_PATH + "/import")
+                || path.startsWith(BASE_PATH + "/exports") )
+            return LIST;
+        if ( path.equals(BASE_PATH + "/lookup") )
+            return LOOKUP;
+
+        if ( !"GET".equals(method) && !"HEAD".equals(method) )
+            return WRITE;
+        if ( path.equals(BASE_PATH) || path.equals(BASE_PATH + "/") )
+            return request.getParameter("ids") != null || request.getParameter("email") != null ? LOOKUP : LIST;
+        return LOOKUP;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vcs.springbootTesting.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+// The limits of one EndpointGroup: a token bucket shared by all clients, one token bucket per client, and the
+// concurrency limiter, null for groups that are only rate limited. A rate of 0 or less turns its bucket off.
+public class EndpointLimits {
+
+    // client ids come from a header, a client making up new ones only gets as far as the shared bucket
+    private static final int MAX_CLIENTS = 100_000;
+
+    private final TokenBucket endpointBucket;
+
+    private final double clientRate;
+
+    private final double clientBurst;
+
+    private final Cache<String, TokenBucket> clientBuckets;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public EndpointLimits(double rate, double burst, double clientRate, double clientBurst,
+                          AdaptiveConcurrencyLimiter concurrencyLimiter, long now) {
+        this.endpointBucket = rate > 0 ? new TokenBucket(rate, burst, now) : null;
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(MAX_CLIENTS)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    // 0 when the client may go ahead, otherwise the nanos until it may retry. The client's own bucket goes first,
+    // a client over its rate does not use up the tokens of everyone else
+    public long tryAcquireClient(String client, long now) {
+        if ( clientRate <= 0 )
+            return 0;
+        return clientBuckets.get(client, key -> new TokenBucket(clientRate, clientBurst, now)).tryAcquire(now);
+    }
+
+    public long tryAcquireEndpoint(long now) {
+        return endpointBucket == null ? 0 : endpointBucket.tryAcquire(now);
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+}
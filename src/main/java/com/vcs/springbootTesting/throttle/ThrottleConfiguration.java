@@ -0,0 +1,50 @@
+package com.vcs.springbootTesting.throttle;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Rate limits and concurrency limits on /api/employees, on with employee.throttle.enabled=true. Every EndpointGroup
+// reads employee.throttle.<group>.rate, burst, client-rate, client-burst, min-concurrency and max-concurrency.
+// Clients are told apart by remote address unless employee.throttle.client-header names a header to trust instead.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.throttle.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ThrottleConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<EmployeeThrottleFilter> employeeThrottleFilter(Environment environment, MeterRegistry meterRegistry,
+                                                                                 @Value("${employee.throttle.client-header:}") String clientHeader) {
+        long now = System.nanoTime();
+        Map<EndpointGroup, EndpointLimits> limits = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "employee.throttle." + group.propertyName() + ".";
+            int maxConcurrency = environment.getProperty(prefix + "max-concurrency", Integer.class, 0);
+            AdaptiveConcurrencyLimiter limiter = maxConcurrency > 0
+                    ? new AdaptiveConcurrencyLimiter(environment.getProperty(prefix + "min-concurrency", Integer.class, 1), maxConcurrency)
+                    : null;
+            limits.put(group, new EndpointLimits(
+                    environment.getProperty(prefix + "rate", Double.class, 0d),
+                    environment.getProperty(prefix + "burst", Double.class, 0d),
+                    environment.getProperty(prefix + "client-rate", Double.class, 0d),
+                    environment.getProperty(prefix + "client-burst", Double.class, 0d),
+                    limiter, now));
+        }
+
+        FilterRegistrationBean<EmployeeThrottleFilter> registration = new FilterRegistrationBean<>(
+                new EmployeeThrottleFilter(limits, clientHeader, meterRegistry, System::nanoTime));
+        registration.addUrlPatterns("/api/employees/*");
+        // ahead of everything but the observation filter, shed requests still show up in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50);
+        return registration;
+    }
+}
@@ -0,0 +1,34 @@
+package com.vcs.springbootTesting.throttle;
+
+// Holds up to capacity tokens and gains ratePerSecond of them every second; each request takes one.
+// Bursts up to the capacity go through, the sustained rate is capped at ratePerSecond.
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    // guarded by this
+    private double tokens;
+
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, double capacity, long now) {
+        this.capacity = Math.max(1, capacity);
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = this.capacity;
+        this.refilledAt = now;
+    }
+
+    // takes a token and returns 0, or returns the nanos until the next one without taking anything
+    public synchronized long tryAcquire(long now) {
+
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if ( tokens >= 1 ) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
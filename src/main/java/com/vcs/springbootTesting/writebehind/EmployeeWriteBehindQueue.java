@@ -0,0 +1,342 @@
+package com.vcs.springbootTesting.writebehind;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeWriteStatus;
+import com.vcs.springbootTesting.dto.EmployeeWriteStatus.Operation;
+import com.vcs.springbootTesting.dto.EmployeeWriteStatus.Status;
+import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.repository.EmployeeRepository;
+import com.vcs.springbootTesting.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Write-behind for employee creates and updates: writes are validated and acknowledged right away, buffered in a
+// bounded queue and applied by a single flusher thread in batches, so commit latency stays off the request path.
+// Stops after the web server on shutdown and drains whatever is still queued before the datasource goes away.
+@Component
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindQueue.class);
+
+    // web server graceful shutdown and stop run at DEFAULT_PHASE - 1024 / - 2048, stop after both
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private record PendingWrite(String trackingId, Long id, Employee employee, Long expectedVersion) {
+    }
+
+    // queued writes holding an email: one create, or any number of updates of the same employee
+    private record EmailClaim(Long employeeId, int writes) {
+    }
+
+    private EmployeeService employeeService;
+
+    private EmployeeRepository employeeRepository;
+
+    private final BlockingQueue<PendingWrite> queue;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final Duration offerTimeout;
+
+    private final Cache<String, EmployeeWriteStatus> statuses;
+
+    // emails claimed by queued writes, the database only sees them at flush time
+    private final Map<String, EmailClaim> pendingEmails = new ConcurrentHashMap<>();
+
+    // submitters hold the read side, stop() takes the write side so nothing is enqueued after the final drain starts
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+
+    // writes are accepted from construction on, anything queued before start() goes out with the first batch
+    private volatile boolean accepting = true;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    private Counter rejections;
+
+    public EmployeeWriteBehindQueue(EmployeeService employeeService, EmployeeRepository employeeRepository, MeterRegistry meterRegistry,
+                                    @Value("${employee.write-behind.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${employee.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                    @Value("${employee.write-behind.offer-timeout:50ms}") Duration offerTimeout,
+                                    @Value("${employee.write-behind.status-retention:1h}") Duration statusRetention,
+                                    @Value("${employee.write-behind.status-maximum-size:100000}") long statusMaximumSize) {
+        this.employeeService = employeeService;
+        this.employeeRepository = employeeRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        // bounded like the idempotency store, a burst of writes must not pin an hour of statuses in memory
+        this.statuses = Caffeine.newBuilder().maximumSize(statusMaximumSize).expireAfterWrite(statusRetention).build();
+        this.rejections = Counter.builder("employee.write.behind.rejections")
+                .description("Writes refused because the write-behind queue was full")
+                .register(meterRegistry);
+        Gauge.builder("employee.write.behind.queue.size", queue, Collection::size)
+                .description("Writes waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    public EmployeeWriteStatus submitCreate(Employee employee) {
+
+        requireFields(employee);
+        if ( !employeeRepository.findExistingEmails(List.of(employee.getEmail())).isEmpty() )
+            throw new ResourceNotFoundException("Employee already exists with the given email: "+employee.getEmail());
+        return submit(Operation.CREATE, new PendingWrite(UUID.randomUUID().toString(), null, copyOf(employee), null));
+    }
+
+    public EmployeeWriteStatus submitUpdate(long id, Employee employee, Long expectedVersion) {
+
+        requireFields(employee);
+        Optional<Employee> owner = employeeRepository.findByEmail(employee.getEmail());
+        if ( owner.isPresent() && owner.get().getId() != id )
+            throw new ResourceNotFoundException("Employee already exists with the given email: "+employee.getEmail());
+        return submit(Operation.UPDATE, new PendingWrite(UUID.randomUUID().toString(), id, employee.toBuilder().id(id).build(), expectedVersion));
+    }
+
+    public Optional<EmployeeWriteStatus> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private EmployeeWriteStatus submit(Operation operation, PendingWrite write) {
+
+        String email = emailKey(write.employee().getEmail());
+        // an update may re-send the email of queued updates to the same employee, a create never may
+        boolean[] claimed = new boolean[1];
+        pendingEmails.compute(email, (key, claim) -> {
+            if ( claim != null && (write.id() == null || !write.id().equals(claim.employeeId())) )
+                return claim;
+            claimed[0] = true;
+            return new EmailClaim(write.id(), claim == null ? 1 : claim.writes() + 1);
+        });
+        if ( !claimed[0] )
+            throw new ResourceNotFoundException("Employee already exists with the given email: "+write.employee().getEmail());
+
+        EmployeeWriteStatus status = new EmployeeWriteStatus(write.trackingId(), operation, Status.PENDING, write.employee(), null);
+        statuses.put(write.trackingId(), status);
+
+        submitLock.readLock().lock();
+        try {
+            if ( !accepting || !queue.offer(write, offerTimeout.toMillis(), TimeUnit.MILLISECONDS) ) {
+                reject(write, email);
+                throw new RejectedExecutionException("Write-behind queue is full, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(write, email);
+            throw new RejectedExecutionException("Interrupted while queueing the write", e);
+        } finally {
+            submitLock.readLock().unlock();
+        }
+        return status.toBuilder().build();
+    }
+
+    private void reject(PendingWrite write, String email) {
+        rejections.increment();
+        statuses.invalidate(write.trackingId());
+        release(email);
+    }
+
+    // the email stays claimed until the last queued write holding it is done
+    private void release(String email) {
+        pendingEmails.computeIfPresent(email, (key, claim) -> claim.writes() == 1 ? null : new EmailClaim(claim.employeeId(), claim.writes() - 1));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "employee-write-behind");
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+
+        submitLock.writeLock().lock();
+        try {
+            accepting = false;
+            running = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        if ( flusher == null )
+            return;
+        log.info("Flushing {} queued employee writes before shutdown", queue.size());
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void flushLoop() {
+
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while ( running || !queue.isEmpty() ) {
+            try {
+                PendingWrite first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if ( first == null )
+                    continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // only stop() ends the loop, and only once the queue is empty
+                log.warn("Ignoring interrupt of the employee write-behind flusher");
+            } catch (RuntimeException e) {
+                log.error("Employee write-behind flush failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+
+        List<PendingWrite> creates = new ArrayList<>();
+        Map<Long, List<PendingWrite>> updates = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            if ( write.id() == null )
+                creates.add(write);
+            else
+                updates.computeIfAbsent(write.id(), id -> new ArrayList<>()).add(write);
+        }
+
+        if ( !creates.isEmpty() )
+            flushCreates(creates);
+        for (List<PendingWrite> writes : updates.values())
+            flushUpdates(writes);
+    }
+
+    // one duplicate check and one JDBC batch for all queued creates, see EmployeeService.saveEmployees. A batch that
+    // fails as a whole is bisected, so only the writes that also fail on their own are marked FAILED
+    private void flushCreates(List<PendingWrite> creates) {
+
+        List<EmployeeBatchResult> results;
+        try {
+            results = employeeService.saveEmployees(creates.stream().map(write -> copyOf(write.employee())).toList());
+        } catch (RuntimeException e) {
+            if ( creates.size() == 1 ) {
+                complete(creates.get(0), Status.FAILED, creates.get(0).employee(), e.getMessage());
+                return;
+            }
+            log.warn("Employee write-behind batch of {} creates failed ({}), retrying it in halves", creates.size(), e.getMessage());
+            flushCreates(creates.subList(0, creates.size() / 2));
+            flushCreates(creates.subList(creates.size() / 2, creates.size()));
+            return;
+        }
+
+        for (int i = 0; i < creates.size(); i++) {
+            EmployeeBatchResult result = results.get(i);
+            PendingWrite write = creates.get(i);
+            switch ( result.getStatus() ) {
+                case CREATED -> complete(write, Status.APPLIED, result.getEmployee(), null);
+                case DUPLICATE -> complete(write, Status.DUPLICATE, write.employee(), result.getMessage());
+                default -> complete(write, Status.FAILED, write.employee(), result.getMessage());
+            }
+        }
+    }
+
+    // consecutive unconditional updates of the same employee collapse into the last one, versioned updates
+    // are applied one by one since each of them may legitimately fail on its own version
+    private void flushUpdates(List<PendingWrite> writes) {
+
+        List<PendingWrite> superseded = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            PendingWrite write = writes.get(i);
+            if ( write.expectedVersion() == null && i + 1 < writes.size() && writes.get(i + 1).expectedVersion() == null ) {
+                superseded.add(write);
+                continue;
+            }
+
+            EmployeeWriteStatus outcome = applyUpdate(write);
+            complete(write, outcome.getStatus(), outcome.getEmployee(), outcome.getMessage());
+            for (PendingWrite coalesced : superseded)
+                complete(coalesced, outcome.getStatus(), outcome.getEmployee(), "Coalesced into write " + write.trackingId());
+            superseded.clear();
+        }
+    }
+
+    private EmployeeWriteStatus applyUpdate(PendingWrite write) {
+
+        EmployeeWriteStatus outcome = new EmployeeWriteStatus();
+        try {
+            Optional<Employee> updated = employeeService.updateEmployee(write.id(), write.employee(), write.expectedVersion());
+            outcome.setStatus(updated.isPresent() ? Status.APPLIED : Status.NOT_FOUND);
+            outcome.setEmployee(updated.orElse(write.employee()));
+        } catch (OptimisticLockingFailureException e) {
+            outcome.setStatus(Status.CONFLICT);
+            outcome.setEmployee(write.employee());
+            outcome.setMessage("Employee was modified concurrently, reload it and retry.");
+        } catch (DataIntegrityViolationException e) {
+            outcome.setStatus(Status.DUPLICATE);
+            outcome.setEmployee(write.employee());
+            outcome.setMessage("Employee violates a uniqueness or integrity constraint.");
+        } catch (RuntimeException e) {
+            outcome.setStatus(Status.FAILED);
+            outcome.setEmployee(write.employee());
+            outcome.setMessage(e.getMessage());
+        }
+        return outcome;
+    }
+
+    private void complete(PendingWrite write, Status status, Employee employee, String message) {
+        statuses.asMap().computeIfPresent(write.trackingId(), (trackingId, pending) ->
+                pending.toBuilder().status(status).employee(employee).message(message).build());
+        release(emailKey(write.employee().getEmail()));
+    }
+
+    private static void requireFields(Employee employee) {
+        if ( employee == null || employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null )
+            throw new IllegalArgumentException("firstName, lastName and email are required");
+    }
+
+    // MySQL compares emails case-insensitively, the pending claims have to agree with it
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static Employee copyOf(Employee employee) {
+        return employee.toBuilder().build();
+    }
+}
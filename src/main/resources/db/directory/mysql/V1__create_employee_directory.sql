@@ -0,0 +1,8 @@
+-- directory database of the sharded storage (employee.shards.*): hands out employee ids for every shard
+-- and maps each email to its id, which also keeps emails unique across shards
+create table employee_directory (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+create unique index uk_employee_directory_email on employee_directory (email);
@@ -0,0 +1,2 @@
+create unique index uk_employees_email on employees (email);
+create index idx_employees_name on employees (first_name, last_name);
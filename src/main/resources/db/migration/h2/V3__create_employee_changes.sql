@@ -0,0 +1,12 @@
+create table employee_changes (
+    seq bigint generated by default as identity primary key,
+    employee_id bigint not null,
+    change_type varchar(16) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    version bigint,
+    changed_at bigint not null
+);
+create index idx_employee_changes_employee on employee_changes (employee_id, seq);
+create index idx_employee_changes_changed_at on employee_changes (changed_at);
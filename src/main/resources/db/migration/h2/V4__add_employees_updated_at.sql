@@ -0,0 +1,2 @@
+-- epoch millis of the last write, backs Last-Modified on the employee endpoints
+alter table employees add column updated_at bigint default 0 not null;
@@ -0,0 +1,10 @@
+-- first responses to POST /api/employees by Idempotency-Key, only written when employee.idempotency.persistent=true
+create table idempotency_keys (
+    idempotency_key varchar(255) not null,
+    fingerprint varchar(64) not null,
+    status int not null,
+    body varchar(2048),
+    created_at bigint not null,
+    primary key (idempotency_key)
+);
+create index idx_idempotency_keys_created_at on idempotency_keys (created_at);
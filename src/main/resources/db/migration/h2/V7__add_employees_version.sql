@@ -0,0 +1,2 @@
+-- same as the MySQL migration: tables created before optimistic locking have no version column
+alter table employees add column if not exists version bigint default 0 not null;
@@ -0,0 +1,9 @@
+-- change log position in commit order, assigned after commit by EmployeeOutbox under the lock on the sequencer row
+alter table employee_changes add column commit_seq bigint;
+update employee_changes set commit_seq = seq;
+create unique index idx_employee_changes_commit_seq on employee_changes (commit_seq);
+create table employee_change_sequencer (
+    id int not null primary key,
+    last_commit_seq bigint not null
+);
+insert into employee_change_sequencer (id, last_commit_seq) select 1, coalesce(max(seq), 0) from employee_changes;
@@ -0,0 +1,9 @@
+-- existing databases were created by hibernate ddl-auto=update, keep this a no-op for them
+create table if not exists employees (
+    id bigint not null auto_increment,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    version bigint default 0 not null,
+    primary key (id)
+) engine=InnoDB;
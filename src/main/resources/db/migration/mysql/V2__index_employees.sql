@@ -0,0 +1,3 @@
+-- fails on tables that already hold duplicate emails, those rows have to be merged by hand first
+create unique index uk_employees_email on employees (email);
+create index idx_employees_name on employees (first_name, last_name);
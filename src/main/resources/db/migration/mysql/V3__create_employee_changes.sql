@@ -0,0 +1,14 @@
+-- transactional outbox, one row per committed employee change
+create table employee_changes (
+    seq bigint not null auto_increment,
+    employee_id bigint not null,
+    change_type varchar(16) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    version bigint,
+    changed_at bigint not null,
+    primary key (seq)
+) engine=InnoDB;
+create index idx_employee_changes_employee on employee_changes (employee_id, seq);
+create index idx_employee_changes_changed_at on employee_changes (changed_at);
@@ -0,0 +1,7 @@
+-- written on the primary every second, read back on each replica to measure its lag (employee.datasource.replica.*)
+create table replica_heartbeat (
+    id int not null,
+    beat_at bigint not null,
+    primary key (id)
+) engine=InnoDB;
+insert into replica_heartbeat (id, beat_at) values (1, 0);
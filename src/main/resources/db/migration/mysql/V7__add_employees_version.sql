@@ -0,0 +1,10 @@
+-- tables created by the original app (hibernate ddl-auto=update, before optimistic locking) have no version column,
+-- and V1 leaves existing tables alone; MySQL has no "add column if not exists", so the check goes through information_schema
+set @add_employees_version = (
+    select if(count(*) = 0, 'alter table employees add column version bigint default 0 not null', 'do 0')
+    from information_schema.columns
+    where table_schema = database() and table_name = 'employees' and column_name = 'version'
+);
+prepare add_employees_version from @add_employees_version;
+execute add_employees_version;
+deallocate prepare add_employees_version;
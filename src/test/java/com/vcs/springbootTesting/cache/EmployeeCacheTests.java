@@ -0,0 +1,156 @@
+package com.vcs.springbootTesting.cache;
+
+import com.vcs.springbootTesting.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeCacheTests {
+
+    private EmployeeCache employeeCache;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+
+        employeeCache = new EmployeeCache(100, Duration.ofMinutes(10));
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .build();
+    }
+
+    // JUnit test for put and lookup by id and email
+    @DisplayName("JUnit test for put and lookup by id and email")
+    @Test
+    public void givenCachedEmployee_whenGetByIdOrEmail_thenReturnCopy() {
+
+        // given - precondition or setup
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        Employee byId = employeeCache.get(1L).get();
+        Employee byEmail = employeeCache.getByEmail("VCS@vcs.com").get();
+
+        // then - verify the output
+        assertThat(byId).isEqualTo(employee).isNotSameAs(employee);
+        assertThat(byEmail).isEqualTo(employee);
+        assertThat(employeeCache.stats().hitCount()).isEqualTo(2);
+    }
+
+    // JUnit test for email change invalidating the old email
+    @DisplayName("JUnit test for email change invalidating the old email")
+    @Test
+    public void givenEmailChanged_whenPut_thenOldEmailIsNoLongerCached() {
+
+        // given - precondition or setup
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.put(employee.toBuilder().email("vivek@gmail.com").build());
+
+        // then - verify the output
+        assertThat(employeeCache.getByEmail("vcs@vcs.com")).isEmpty();
+        assertThat(employeeCache.getByEmail("vivek@gmail.com")).isPresent();
+    }
+
+    // JUnit test for evict removing both indexes
+    @DisplayName("JUnit test for evict removing both indexes")
+    @Test
+    public void givenCachedEmployee_whenEvict_thenIdAndEmailAreMisses() {
+
+        // given - precondition or setup
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.evict(1L);
+
+        // then - verify the output
+        assertThat(employeeCache.get(1L)).isEmpty();
+        assertThat(employeeCache.getByEmail("vcs@vcs.com")).isEmpty();
+    }
+
+    // JUnit test for size bound eviction also dropping the email
+    @DisplayName("JUnit test for size bound eviction also dropping the email")
+    @Test
+    public void givenFullCache_whenPutMore_thenEvictedEmailsAreDropped() {
+
+        // given - precondition or setup
+        employeeCache = new EmployeeCache(1, Duration.ofMinutes(10));
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going to test
+        for (long id = 2; id < 50; id++)
+            employeeCache.put(employee.toBuilder().id(id).email(id + "@vcs.com").build());
+        employeeCache.nativeCache().cleanUp();
+
+        // then - verify the output
+        assertThat(employeeCache.nativeCache().estimatedSize()).isEqualTo(1);
+        assertThat(employeeCache.getByEmail("vcs@vcs.com")).isEmpty();
+    }
+
+    // JUnit test for refills right after a write evicted the id
+    @DisplayName("JUnit test for a read not refilling an id a write just evicted")
+    @Test
+    public void givenRecentlyEvictedId_whenFill_thenNotCached() {
+
+        // given - precondition or setup
+        employeeCache = new EmployeeCache(100, Duration.ofMinutes(10), Duration.ofMinutes(1));
+        employeeCache.put(employee);
+        employeeCache.evict(1L);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.fill(employee);
+        employeeCache.fill(employee.toBuilder().id(2L).email("vraja@vraja.com").build());
+
+        // then - verify the output
+        assertThat(employeeCache.get(1L)).isEmpty();
+        assertThat(employeeCache.get(2L)).isPresent();
+    }
+
+    // JUnit test for a read that raced a write
+    @DisplayName("JUnit test for a read never replacing or refilling a newer version")
+    @Test
+    public void givenNewerVersionPutOrEvicted_whenFillOlderVersion_thenNotCached() {
+
+        // given - precondition or setup
+        Employee stale = employee.toBuilder().version(1L).build();
+        employeeCache.put(employee.toBuilder().version(2L).email("vivek@gmail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.fill(stale);
+        Employee afterPut = employeeCache.get(1L).get();
+        employeeCache.evict(1L);
+        employeeCache.fill(stale);
+
+        // then - verify the output
+        assertThat(afterPut.getVersion()).isEqualTo(2L);
+        assertThat(afterPut.getEmail()).isEqualTo("vivek@gmail.com");
+        assertThat(employeeCache.get(1L)).isEmpty();
+        assertThat(employeeCache.getByEmail("vcs@vcs.com")).isEmpty();
+    }
+
+    // JUnit test for a read that raced a delete
+    @DisplayName("JUnit test for a read not refilling a deleted id without a refill delay")
+    @Test
+    public void givenDeletedId_whenFill_thenNotCached() {
+
+        // given - precondition or setup
+        employeeCache.put(employee);
+        employeeCache.evictDeleted(1L);
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.fill(employee);
+
+        // then - verify the output
+        assertThat(employeeCache.get(1L)).isEmpty();
+        assertThat(employeeCache.getByEmail("vcs@vcs.com")).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.vcs.springbootTesting.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTests {
+
+    private SingleFlight<Long, String> singleFlight;
+
+    @BeforeEach
+    public void setup() {
+        singleFlight = new SingleFlight<>("id", new SimpleMeterRegistry());
+    }
+
+    // JUnit test for concurrent loads of the same key
+    @DisplayName("JUnit test for concurrent loads of the same key sharing one query")
+    @Test
+    public void givenLoadInFlight_whenLoadSameKey_thenJoinIt() throws Exception {
+
+        // given - precondition or setup
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.load(1L, () -> {
+            queries.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "Vivek";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when - action or the behaviour that we are going to test
+        List<CompletableFuture<String>> joined = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            joined.add(CompletableFuture.supplyAsync(() -> singleFlight.load(1L, () -> {
+                queries.incrementAndGet();
+                return "Vivek";
+            })));
+        // the joiners only block once they found the flight, give them the time to get there
+        while ( singleFlight.collapsedCount() < joined.size() )
+            Thread.onSpinWait();
+        release.countDown();
+
+        // then - verify the output
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Vivek");
+        for (CompletableFuture<String> load : joined)
+            assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("Vivek");
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(singleFlight.loadCount()).isEqualTo(1);
+        assertThat(singleFlight.collapsedCount()).isEqualTo(4);
+    }
+
+    // JUnit test for sequential loads
+    @DisplayName("JUnit test for completed loads not being reused")
+    @Test
+    public void givenCompletedLoad_whenLoadSameKey_thenQueryAgain() {
+
+        // given - precondition or setup
+        singleFlight.load(1L, () -> "Vivek");
+
+        // when - action or the behaviour that we are going to test
+        String value = singleFlight.load(1L, () -> "Vraja");
+
+        // then - verify the output
+        assertThat(value).isEqualTo("Vraja");
+        assertThat(singleFlight.collapsedCount()).isEqualTo(0);
+    }
+
+    // JUnit test for a failed load
+    @DisplayName("JUnit test for a failed load being retried by the next caller")
+    @Test
+    public void givenFailedLoad_whenLoadSameKey_thenQueryAgain() {
+
+        // given - precondition or setup
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> singleFlight.load(1L, () -> {
+                    throw new IllegalStateException("connection reset");
+                }));
+
+        // when - action or the behaviour that we are going to test
+        String value = singleFlight.load(1L, () -> "Vivek");
+
+        // then - verify the output
+        assertThat(value).isEqualTo("Vivek");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
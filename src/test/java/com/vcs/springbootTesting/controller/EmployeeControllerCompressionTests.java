@@ -0,0 +1,131 @@
+package com.vcs.springbootTesting.controller;
+
+import com.vcs.springbootTesting.dto.EmployeeSummary;
+import com.vcs.springbootTesting.idempotency.IdempotencyStore;
+import com.vcs.springbootTesting.importer.EmployeeImporter;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
+import com.vcs.springbootTesting.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MockMvc never compresses, so these go through the embedded Tomcat with the compression settings of application.properties.
+// java.net.http sends Accept-Encoding only when asked to and hands back the body as it came over the wire
+@SpringBootTest(classes = {EmployeeController.class, CompressionConfiguration.class}, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.compression.min-response-size=1B")
+@ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+public class EmployeeControllerCompressionTests {
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private EmployeeImporter employeeImporter;
+
+    private HttpResponse<byte[]> get(String path, String... headers) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if ( headers.length > 0 )
+            request.headers(headers);
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // JUnit test to getAllEmployees method REST API over the wire
+    @DisplayName("JUnit test to getAllEmployees method REST API (gzip with an ETag)")
+    @Test
+    public void givenTableVersion_whenGetAllEmployeesAcceptingGzip_thenReturnCompressedWithStrongETag() throws Exception {
+
+        // given - precondition or setup
+        EmployeeChange head = EmployeeChange.builder().commitSeq(42L).changedAt(1_700_000_000_000L).build();
+        BDDMockito.given(employeeService.getEmployeesVersion()).willReturn(Optional.of(head));
+        BDDMockito.given(employeeService.getEmployeeSummaries(EmployeeController.LIST_PAGE_SIZE + 1)).willReturn(IntStream.range(0, 100)
+                .mapToObj(i -> new EmployeeSummary(i, "Vivek", "Chandra", "vcs" + i + "@vcs.com", 0))
+                .toList());
+
+        // when - action or the behaviour that we are going to test
+        HttpResponse<byte[]> response = get("/api/employees");
+
+        // then - verify the output
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).contains("\"42-gzip\"");
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes()).isNotEmpty();
+    }
+
+    // JUnit test to getEmployeeById method REST API over the wire
+    @DisplayName("JUnit test to getEmployeeById method REST API (gzip with an ETag)")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdAcceptingGzip_thenReturnCompressedWithStrongETag() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .version(3L)
+                .build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        HttpResponse<byte[]> response = get("/api/employees/1");
+
+        // then - verify the output
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).contains("\"3-gzip\"");
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+    }
+
+    // JUnit test to getEmployeeById method REST API revalidating the gzip representation
+    @DisplayName("JUnit test to getEmployeeById method REST API (gzip tag Not Modified)")
+    @Test
+    public void givenGzipETag_whenGetEmployeeById_thenReturnNotModifiedWithThatTag() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .version(3L)
+                .build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        HttpResponse<byte[]> response = get("/api/employees/1", HttpHeaders.IF_NONE_MATCH, "\"3-gzip\"");
+
+        // then - verify the output
+        assertThat(response.statusCode()).isEqualTo(304);
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).contains("\"3-gzip\"");
+    }
+}
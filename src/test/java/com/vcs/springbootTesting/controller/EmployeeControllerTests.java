@@ -1,27 +1,53 @@
 package com.vcs.springbootTesting.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeChangePage;
+import com.vcs.springbootTesting.dto.EmployeeImportError;
+import com.vcs.springbootTesting.dto.EmployeeImportReport;
+import com.vcs.springbootTesting.dto.EmployeeLookup;
+import com.vcs.springbootTesting.dto.EmployeePage;
+import com.vcs.springbootTesting.dto.EmployeeSearchResult;
+import com.vcs.springbootTesting.dto.EmployeeSummary;
+import com.vcs.springbootTesting.dto.IdempotentResponse;
+import com.vcs.springbootTesting.exception.IdempotencyKeyReusedException;
+import com.vcs.springbootTesting.exception.SearchIndexNotReadyException;
+import com.vcs.springbootTesting.export.EmployeeExporter;
+import com.vcs.springbootTesting.idempotency.IdempotencyStore;
+import com.vcs.springbootTesting.importer.EmployeeImporter;
 import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
 import com.vcs.springbootTesting.service.EmployeeService;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 
 @WebMvcTest
 public class EmployeeControllerTests {
@@ -32,6 +58,16 @@ public class EmployeeControllerTests {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private EmployeeImporter employeeImporter;
+
+    // EmployeeExportController is part of the slice, covered in EmployeeExportControllerTests
+    @MockBean
+    private EmployeeExporter employeeExporter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -59,17 +95,66 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    // JUnit test to createEmployee method with a replayed Idempotency-Key
+    @DisplayName("JUnit test to createEmployee method (replayed Idempotency-Key)")
+    @Test
+    public void givenReplayedIdempotencyKey_whenCreateEmployee_thenReturnStoredResponse() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+
+        BDDMockito.given(idempotencyStore.execute(ArgumentMatchers.eq("key-1"), ArgumentMatchers.eq(IdempotencyStore.fingerprintOf(employee)), ArgumentMatchers.any()))
+                .willReturn(new IdempotentResponse(201, employee, true));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string("Idempotent-Replayed", "true"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(1)));
+        BDDMockito.then(employeeService).should(Mockito.never()).saveEmployee(ArgumentMatchers.any(Employee.class));
+    }
+
+    // JUnit test to createEmployee method with a reused Idempotency-Key
+    @DisplayName("JUnit test to createEmployee method (Idempotency-Key reused for another request)")
+    @Test
+    public void givenReusedIdempotencyKey_whenCreateEmployee_thenReturnUnprocessableEntity() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+
+        BDDMockito.given(idempotencyStore.execute(ArgumentMatchers.eq("key-1"), ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .willThrow(new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request"));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+    }
+
     // JUnit test to getAllEmployees method REST API
     @DisplayName("JUnit test to getAllEmployees method REST API")
     @Test
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeeList() throws Exception {
 
         // given - precondition or setup
-        List<Employee> employeeList = new ArrayList<>();
-        employeeList.add(Employee.builder().firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build());
-        employeeList.add(Employee.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build());
+        List<EmployeeSummary> employeeList = new ArrayList<>();
+        employeeList.add(EmployeeSummary.builder().firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build());
+        employeeList.add(EmployeeSummary.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build());
 
-        BDDMockito.given(employeeService.getAllEmployees()).willReturn(employeeList);
+        BDDMockito.given(employeeService.getEmployeeSummaries(EmployeeController.LIST_PAGE_SIZE + 1)).willReturn(employeeList);
 
         // when - action or the behaviour that we are going to test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
@@ -80,6 +165,139 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(employeeList.size())));
     }
 
+    // JUnit test to getAllEmployees method REST API with an unchanged table version
+    @DisplayName("JUnit test to getAllEmployees method REST API (Not Modified)")
+    @Test
+    public void givenUnchangedTableVersion_whenGetAllEmployees_thenReturnNotModifiedWithoutLoadingList() throws Exception {
+
+        // given - precondition or setup
+        EmployeeChange head = EmployeeChange.builder().commitSeq(42L).changedAt(1_700_000_000_000L).build();
+        BDDMockito.given(employeeService.getEmployeesVersion()).willReturn(Optional.of(head));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"42\""));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        BDDMockito.then(employeeService).should(Mockito.never()).getEmployeeSummaries(ArgumentMatchers.anyInt());
+    }
+
+    // JUnit test to getAllEmployees method REST API with a changed table version
+    @DisplayName("JUnit test to getAllEmployees method REST API (Modified)")
+    @Test
+    public void givenChangedTableVersion_whenGetAllEmployees_thenReturnListWithETag() throws Exception {
+
+        // given - precondition or setup
+        EmployeeChange head = EmployeeChange.builder().commitSeq(43L).changedAt(1_700_000_000_000L).build();
+        BDDMockito.given(employeeService.getEmployeesVersion()).willReturn(Optional.of(head));
+        BDDMockito.given(employeeService.getEmployeeSummaries(EmployeeController.LIST_PAGE_SIZE + 1)).willReturn(List.of(new EmployeeSummary()));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"42\""));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"43\""))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)));
+    }
+
+    // JUnit test to getAllEmployees method REST API with more employees than one list page
+    @DisplayName("JUnit test to getAllEmployees method REST API (next page link)")
+    @Test
+    public void givenMoreEmployeesThanOnePage_whenGetAllEmployees_thenReturnFirstPageWithNextLink() throws Exception {
+
+        // given - precondition or setup
+        List<EmployeeSummary> employeeList = IntStream.rangeClosed(1, EmployeeController.LIST_PAGE_SIZE + 1)
+                .mapToObj(i -> EmployeeSummary.builder().id(i).email("vcs" + i + "@vcs.com").build())
+                .toList();
+        BDDMockito.given(employeeService.getEmployeeSummaries(EmployeeController.LIST_PAGE_SIZE + 1)).willReturn(employeeList);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(EmployeeController.LIST_PAGE_SIZE)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LINK,
+                        "<http://localhost/api/employees?after=" + EmployeeController.LIST_PAGE_SIZE
+                                + "&limit=" + EmployeeController.LIST_PAGE_SIZE + ">; rel=\"next\""));
+    }
+
+    // JUnit test to getEmployees method REST API with query parameters that select different reads
+    @DisplayName("JUnit test to getEmployees method REST API (combined parameters)")
+    @Test
+    public void givenIdsAndEmail_whenGetEmployees_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("ids", "1,2")
+                .param("email", "vcs@vcs.com"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
+    // JUnit test to getEmployees method REST API with after but no limit
+    @DisplayName("JUnit test to getEmployees method REST API (after without limit)")
+    @Test
+    public void givenAfterWithoutLimit_whenGetEmployees_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("after", "10"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
+    // JUnit test to getEmployeeFields method REST API
+    @DisplayName("JUnit test to getEmployeeFields method REST API")
+    @Test
+    public void givenFields_whenGetEmployeeFields_thenReturnOnlyThoseFields() throws Exception {
+
+        // given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeeFields(List.of("id", "email")))
+                .willReturn(List.of(Map.of("id", 1, "email", "vcs@vcs.com")));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("fields", "id,email"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email", CoreMatchers.is("vcs@vcs.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].firstName").doesNotExist());
+    }
+
+    // JUnit test to getEmployeeFields method REST API (negative scenario)
+    @DisplayName("JUnit test to getEmployeeFields method REST API (negative scenario)")
+    @Test
+    public void givenUnknownField_whenGetEmployeeFields_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeeFields(List.of("salary")))
+                .willThrow(new IllegalArgumentException("Unknown employee field: salary"));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("fields", "salary"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     // JUnit test to getEmployeeById method REST API (Positive Scenario)
     @DisplayName("JUnit test to getEmployeeById method REST API (Positive Scenario)")
     @Test
@@ -106,6 +324,83 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    // JUnit test to getEmployeeById method REST API with a matching ETag
+    @DisplayName("JUnit test to getEmployeeById method REST API (Not Modified)")
+    @Test
+    public void givenMatchingETag_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .version(3L)
+                .updatedAt(1_700_000_000_000L)
+                .build();
+
+        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    // JUnit test to getEmployeeByEmail method REST API
+    @DisplayName("JUnit test to getEmployeeByEmail method REST API")
+    @Test
+    public void givenEmail_whenGetEmployeeByEmail_thenReturnEmployeeObject() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .version(2L)
+                .build();
+
+        BDDMockito.given(employeeService.getEmployeeByEmail("vcs@vcs.com")).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("email", "vcs@vcs.com"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(1)));
+    }
+
+    // JUnit test to getEmployeesByIds method REST API
+    @DisplayName("JUnit test to getEmployeesByIds method REST API")
+    @Test
+    public void givenIds_whenGetEmployeesByIds_thenReturnEmployeesAndMissingIds() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+
+        BDDMockito.given(employeeService.getEmployeesByIds(List.of(1L, 7L)))
+                .willReturn(new EmployeeLookup(List.of(employee), List.of(7L)));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("ids", "1,7"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees[0].id", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missingIds[0]", CoreMatchers.is(7)));
+    }
+
     // JUnit test to getEmployeeById method REST API (Negative Scenario)
     @DisplayName("JUnit test to getEmployeeById method REST API (Negative Scenario)")
     @Test
@@ -142,9 +437,8 @@ public class EmployeeControllerTests {
         Employee updatedEmployee = Employee.builder()
                 .firstName("Vraja").lastName("Chandra").email("vraja@vraja.com").build();
 
-        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
-        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(Employee.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), ArgumentMatchers.any(Employee.class), ArgumentMatchers.isNull()))
+                .willAnswer(invocation -> Optional.of(invocation.getArgument(1)));
 
         // when - action or the behaviour that we are going to test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", employeeId)
@@ -172,9 +466,8 @@ public class EmployeeControllerTests {
         Employee updatedEmployee = Employee.builder()
                 .firstName("Vraja").lastName("Chandra").email("vraja@vraja.com").build();
 
-        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(Employee.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), ArgumentMatchers.any(Employee.class), ArgumentMatchers.isNull()))
+                .willReturn(Optional.empty());
 
         // when - action or the behaviour that we are going to test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", employeeId)
@@ -202,4 +495,291 @@ public class EmployeeControllerTests {
         response.andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
+
+    // JUnit test to getEmployeesPage method REST API
+    @DisplayName("JUnit test to getEmployeesPage method REST API")
+    @Test
+    public void givenAfterAndLimit_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(5L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+        BDDMockito.given(employeeService.getEmployeesAfter(4L, 1))
+                .willReturn(new EmployeePage(List.of(employee), 5L));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("after", "4")
+                .param("limit", "1"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is(5)));
+    }
+
+    // JUnit test to streamEmployees method REST API
+    @DisplayName("JUnit test to streamEmployees method REST API")
+    @Test
+    public void givenEmployees_whenStreamEmployees_thenReturnNdjson() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+        Employee employee2 = Employee.builder()
+                .id(2L).firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build();
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            consumer.accept(employee2);
+            return null;
+        }).given(employeeService).streamAllEmployees(ArgumentMatchers.any());
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        objectMapper.writeValueAsString(employee) + "\n" + objectMapper.writeValueAsString(employee2) + "\n"));
+    }
+
+    // JUnit test to streamEmployees method REST API as a CBOR sequence
+    @DisplayName("JUnit test to streamEmployees method REST API (CBOR sequence)")
+    @Test
+    public void givenCborSeqAccept_whenStreamEmployees_thenReturnCborSequence() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+        Employee employee2 = Employee.builder()
+                .id(2L).firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build();
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            consumer.accept(employee2);
+            return null;
+        }).given(employeeService).streamAllEmployees(ArgumentMatchers.any());
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/stream").accept("application/cbor-seq"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        MvcResult response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/cbor-seq"))
+                .andReturn();
+
+        // then - verify the output
+        List<Employee> streamed = new CBORMapper().readerFor(Employee.class)
+                .<Employee>readValues(response.getResponse().getContentAsByteArray()).readAll();
+        assertThat(streamed).containsExactly(employee, employee2);
+    }
+
+    // JUnit test to getAllEmployees method REST API in CBOR
+    @DisplayName("JUnit test to getAllEmployees method REST API (CBOR)")
+    @Test
+    public void givenCborAccept_whenGetAllEmployees_thenReturnCbor() throws Exception {
+
+        // given - precondition or setup
+        EmployeeSummary summary = EmployeeSummary.builder().id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+        BDDMockito.given(employeeService.getEmployeeSummaries(EmployeeController.LIST_PAGE_SIZE + 1)).willReturn(List.of(summary));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").accept("application/cbor"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/cbor"))
+                .andReturn();
+
+        // then - verify the output
+        EmployeeSummary[] summaries = new CBORMapper().readValue(response.getResponse().getContentAsByteArray(), EmployeeSummary[].class);
+        assertThat(summaries).containsExactly(summary);
+    }
+
+    // JUnit test to createEmployees method REST API
+    @DisplayName("JUnit test to createEmployees method REST API")
+    @Test
+    public void givenEmployeesBatch_whenCreateEmployees_thenReturnResultPerRow() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+        Employee duplicateEmployee = Employee.builder()
+                .firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willReturn(List.of(
+                new EmployeeBatchResult(0, EmployeeBatchResult.Status.CREATED, employee, null),
+                new EmployeeBatchResult(1, EmployeeBatchResult.Status.DUPLICATE, duplicateEmployee, "duplicate")));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee, duplicateEmployee))));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", CoreMatchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", CoreMatchers.is("DUPLICATE")));
+    }
+
+    // JUnit test to createEmployees method REST API over the batch limit
+    @DisplayName("JUnit test to createEmployees method REST API (batch too large)")
+    @Test
+    public void givenTooManyEmployees_whenCreateEmployees_thenReturn413() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> employees = IntStream.rangeClosed(0, 1000)
+                .mapToObj(i -> Employee.builder().firstName("Vivek").lastName("Chandra").email("vcs" + i + "@vcs.com").build())
+                .toList();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isPayloadTooLarge());
+        Mockito.verifyNoInteractions(employeeService);
+    }
+
+    // JUnit test to importEmployees method REST API
+    @DisplayName("JUnit test to importEmployees method REST API")
+    @Test
+    public void givenCsvUpload_whenImportEmployees_thenReturnImportReport() throws Exception {
+
+        // given - precondition or setup
+        String csv = "firstName,lastName,email\nVivek,Chandra,vcs@vcs.com\nVijay,Raja,not-an-email\n";
+        BDDMockito.given(employeeImporter.importEmployees(ArgumentMatchers.any(), ArgumentMatchers.eq(EmployeeImporter.Format.CSV)))
+                .willReturn(new EmployeeImportReport(2, 1, 0, 1,
+                        List.of(new EmployeeImportError(3, EmployeeBatchResult.Status.INVALID, "not-an-email", "Not an email address: not-an-email")),
+                        false, 5));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/import")
+                .contentType("text/csv")
+                .content(csv));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line", CoreMatchers.is(3)));
+    }
+
+    // JUnit test to updateEmployee method REST API (Stale version)
+    @DisplayName("JUnit test to updateEmployee method REST API (Stale version)")
+    @Test
+    public void givenStaleVersion_whenUpdatedEmployee_thenReturn409() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Vraja").lastName("Chandra").email("vraja@vraja.com").build();
+
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), ArgumentMatchers.any(Employee.class), ArgumentMatchers.eq(3L)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employeeId));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", employeeId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    // JUnit test to updateEmployee method REST API with a weak validator
+    @DisplayName("JUnit test to updateEmployee method REST API (weak If-Match)")
+    @Test
+    public void givenWeakETag_whenUpdatedEmployee_thenReturn412WithoutWriting() throws Exception {
+
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Vraja").lastName("Chandra").email("vraja@vraja.com").build();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        Mockito.verifyNoInteractions(employeeService);
+    }
+
+    // JUnit test to searchEmployees method REST API
+    @DisplayName("JUnit test to searchEmployees method REST API")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnMatches() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+        BDDMockito.given(employeeService.searchEmployees("viv", 5)).willReturn(new EmployeeSearchResult(List.of(employee), false));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search")
+                .param("q", "viv")
+                .param("limit", "5"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees[0].email", CoreMatchers.is(employee.getEmail())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.truncated", CoreMatchers.is(false)));
+    }
+
+    // JUnit test to searchEmployees method REST API before the index is loaded
+    @DisplayName("JUnit test to searchEmployees method REST API (index still loading)")
+    @Test
+    public void givenIndexNotReady_whenSearchEmployees_thenReturn503() throws Exception {
+
+        // given - precondition or setup
+        BDDMockito.given(employeeService.searchEmployees("viv", 10)).willThrow(new SearchIndexNotReadyException("loading"));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search").param("q", "viv"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    // JUnit test to getChanges method REST API
+    @DisplayName("JUnit test to getChanges method REST API")
+    @Test
+    public void givenSince_whenGetChanges_thenReturnChangesAfterIt() throws Exception {
+
+        // given - precondition or setup
+        EmployeeChange change = EmployeeChange.builder()
+                .commitSeq(8L).employeeId(1L).type(EmployeeChange.Type.UPDATED).email("vcs@vcs.com").changedAt(1L).build();
+        BDDMockito.given(employeeService.getChangesSince(7L, 100, Duration.ofSeconds(20)))
+                .willReturn(CompletableFuture.completedFuture(new EmployeeChangePage(List.of(change), 8L, false)));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                        .param("since", "7")
+                        .param("wait", "20"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].type", CoreMatchers.is("UPDATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextSince", CoreMatchers.is(8)));
+    }
 }
@@ -0,0 +1,122 @@
+package com.vcs.springbootTesting.controller;
+
+import com.vcs.springbootTesting.dto.EmployeeExport;
+import com.vcs.springbootTesting.export.EmployeeExporter;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@WebMvcTest(controllers = EmployeeExportController.class)
+public class EmployeeExportControllerTests {
+
+    private static final String NAME = "employees-20261018T020000000Z.csv";
+
+    private static final String CONTENT = "id,firstName,lastName,email,version,updatedAt\n1,Vivek,Chandra,vcs@vcs.com,0,0\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeExporter employeeExporter;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    public void setup() throws Exception {
+
+        Path file = Files.writeString(directory.resolve(NAME), CONTENT);
+        BDDMockito.given(employeeExporter.exportFile(NAME)).willReturn(Optional.of(file));
+    }
+
+    // JUnit test to createExport method REST API
+    @DisplayName("JUnit test to createExport method REST API")
+    @Test
+    public void givenFormat_whenCreateExport_thenReturnCreatedWithLocation() throws Exception {
+
+        // given - precondition or setup
+        BDDMockito.given(employeeExporter.export(EmployeeExporter.Format.CSV))
+                .willReturn(new EmployeeExport(NAME, "csv", CONTENT.length(), 1L, 1L, 3L));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/exports").param("format", "csv"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, CoreMatchers.endsWith("/api/employees/exports/" + NAME)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rows", CoreMatchers.is(1)));
+    }
+
+    // JUnit test to getExport method REST API
+    @DisplayName("JUnit test to getExport method REST API")
+    @Test
+    public void givenExportName_whenGetExport_thenReturnWholeFile() throws Exception {
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/exports/" + NAME));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.content().string(CONTENT));
+    }
+
+    // JUnit test to getExport method REST API with a Range header
+    @DisplayName("JUnit test to getExport method REST API (Range)")
+    @Test
+    public void givenRange_whenGetExport_thenReturnPartialContent() throws Exception {
+
+        // given - precondition or setup
+        int start = CONTENT.indexOf('\n') + 1;
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/exports/" + NAME)
+                .header(HttpHeaders.RANGE, "bytes=" + start + "-"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + start + "-" + (CONTENT.length() - 1) + "/" + CONTENT.length()))
+                .andExpect(MockMvcResultMatchers.content().string(CONTENT.substring(start)));
+    }
+
+    // JUnit test to getExport method REST API with a Range past the end
+    @DisplayName("JUnit test to getExport method REST API (Unsatisfiable range)")
+    @Test
+    public void givenRangePastTheEnd_whenGetExport_thenReturnRangeNotSatisfiable() throws Exception {
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/exports/" + NAME)
+                .header(HttpHeaders.RANGE, "bytes=" + CONTENT.length() + "-"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isRequestedRangeNotSatisfiable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length()));
+    }
+}
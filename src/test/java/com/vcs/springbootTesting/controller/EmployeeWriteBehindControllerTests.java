@@ -0,0 +1,102 @@
+package com.vcs.springbootTesting.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vcs.springbootTesting.dto.EmployeeWriteStatus;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.writebehind.EmployeeWriteBehindQueue;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+@WebMvcTest(controllers = EmployeeWriteBehindController.class, properties = "employee.write-behind.enabled=true")
+public class EmployeeWriteBehindControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeWriteBehindQueue employeeWriteBehindQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Employee employee = Employee.builder()
+            .firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+
+    // JUnit test to createEmployee method (write-behind)
+    @DisplayName("JUnit test to createEmployee method REST API (write-behind)")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnAcceptedWithTrackingId() throws Exception {
+
+        // given - precondition or setup
+        EmployeeWriteStatus status = new EmployeeWriteStatus("abc", EmployeeWriteStatus.Operation.CREATE,
+                EmployeeWriteStatus.Status.PENDING, employee, null);
+        BDDMockito.given(employeeWriteBehindQueue.submitCreate(ArgumentMatchers.any(Employee.class))).willReturn(status);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/write-behind")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, CoreMatchers.endsWith("/api/employees/write-behind/abc")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.trackingId", CoreMatchers.is("abc")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("PENDING")));
+    }
+
+    // JUnit test to createEmployee method when the queue is full
+    @DisplayName("JUnit test to createEmployee method REST API (write-behind, queue full)")
+    @Test
+    public void givenFullQueue_whenCreateEmployee_thenReturnServiceUnavailable() throws Exception {
+
+        // given - precondition or setup
+        BDDMockito.given(employeeWriteBehindQueue.submitCreate(ArgumentMatchers.any(Employee.class)))
+                .willThrow(new RejectedExecutionException("full"));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/write-behind")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    // JUnit test to getWriteStatus method
+    @DisplayName("JUnit test to getWriteStatus method REST API (write-behind)")
+    @Test
+    public void givenTrackingId_whenGetWriteStatus_thenReturnOutcome() throws Exception {
+
+        // given - precondition or setup
+        EmployeeWriteStatus status = new EmployeeWriteStatus("abc", EmployeeWriteStatus.Operation.UPDATE,
+                EmployeeWriteStatus.Status.CONFLICT, employee, "Employee was modified concurrently, reload it and retry.");
+        BDDMockito.given(employeeWriteBehindQueue.status("abc")).willReturn(Optional.of(status));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/write-behind/{trackingId}", "abc"));
+
+        // then - verify the output
+        response.andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("CONFLICT")));
+    }
+}
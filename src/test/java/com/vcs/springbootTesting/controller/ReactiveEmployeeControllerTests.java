@@ -0,0 +1,118 @@
+package com.vcs.springbootTesting.controller;
+
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest
+public class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    private final Employee employee = Employee.builder()
+            .id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build();
+
+    // JUnit test to createEmployee method
+    @DisplayName("JUnit test to createEmployee method (reactive)")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+
+        // given - precondition or setup
+        BDDMockito.given(reactiveEmployeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    // JUnit test to getAllEmployees method as NDJSON
+    @DisplayName("JUnit test to getAllEmployees method (reactive, NDJSON)")
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployeesAsNdjson_thenStreamOnePerLine() {
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder().id(2L).firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build();
+        BDDMockito.given(reactiveEmployeeService.getAllEmployees()).willReturn(Flux.just(employee, employee1));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class).hasSize(2);
+    }
+
+    // JUnit test to getEmployeeById method (Negative Scenario)
+    @DisplayName("JUnit test to getEmployeeById method (reactive, Negative Scenario)")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() {
+
+        // given - precondition or setup
+        BDDMockito.given(reactiveEmployeeService.getEmployeeById(1L)).willReturn(Mono.empty());
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.get().uri("/api/employees/{id}", 1L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    // JUnit test to updateEmployee method with a stale If-Match
+    @DisplayName("JUnit test to updateEmployee method (reactive, stale If-Match)")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturnConflict() {
+
+        // given - precondition or setup
+        BDDMockito.given(reactiveEmployeeService.updateEmployee(ArgumentMatchers.eq(1L), ArgumentMatchers.any(Employee.class), ArgumentMatchers.eq(3L)))
+                .willReturn(Mono.error(new ObjectOptimisticLockingFailureException(Employee.class, 1L)));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.put().uri("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    // JUnit test to deleteEmployee method
+    @DisplayName("JUnit test to deleteEmployee method (reactive)")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() {
+
+        // given - precondition or setup
+        BDDMockito.given(reactiveEmployeeService.deleteEmployee(1L)).willReturn(Mono.empty());
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.delete().uri("/api/employees/{id}", 1L)
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,65 @@
+package com.vcs.springbootTesting.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesFilterTests {
+
+    private ReadYourWritesFilter readYourWritesFilter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    // runs the filter and tells whether the rest of the chain ran pinned to the primary
+    private boolean pinnedDuring(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        readYourWritesFilter.doFilter(request, response, (req, res) -> pinned.set(ReadYourWrites.isPinned()));
+        return pinned.get();
+    }
+
+    // JUnit test for a write handing out the cookie
+    @DisplayName("JUnit test for a write pinning its client to the primary")
+    @Test
+    public void givenWrite_whenFilter_thenSetPrimaryUntilCookie() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when - action or the behaviour that we are going to test
+        boolean pinned = pinnedDuring(new MockHttpServletRequest("POST", "/api/employees"), response);
+
+        // then - verify the output
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE);
+        assertThat(pinned).isTrue();
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+
+    // JUnit test for reads with and without a recent write
+    @DisplayName("JUnit test for reads pinned only while the cookie is current")
+    @Test
+    public void givenRead_whenFilter_thenPinOnlyWithCurrentCookie() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletRequest recentWriter = new MockHttpServletRequest("GET", "/api/employees/1");
+        recentWriter.setCookies(new Cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE, String.valueOf(System.currentTimeMillis() + 5_000)));
+        MockHttpServletRequest earlierWriter = new MockHttpServletRequest("GET", "/api/employees/1");
+        earlierWriter.setCookies(new Cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE, String.valueOf(System.currentTimeMillis() - 1)));
+
+        // when - action or the behaviour that we are going to test
+        boolean recentWriterPinned = pinnedDuring(recentWriter, new MockHttpServletResponse());
+        boolean earlierWriterPinned = pinnedDuring(earlierWriter, new MockHttpServletResponse());
+        boolean anonymousPinned = pinnedDuring(new MockHttpServletRequest("GET", "/api/employees/1"), new MockHttpServletResponse());
+
+        // then - verify the output
+        assertThat(recentWriterPinned).isTrue();
+        assertThat(earlierWriterPinned).isFalse();
+        assertThat(anonymousPinned).isFalse();
+    }
+}
@@ -0,0 +1,165 @@
+package com.vcs.springbootTesting.datasource;
+
+import com.vcs.springbootTesting.datasource.ReplicaRoutingDataSource.Replica;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+// two embedded H2 databases standing in for the primary and a replica, each telling which one it is
+public class ReplicaRoutingDataSourceTests {
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setup() {
+
+        primary = database("primary");
+        replica = database("replica");
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, List.of(new Replica("replica-0", replica)), meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        ReadYourWrites.unpin();
+        replicaRoutingDataSource.close();
+    }
+
+    private static DataSource database(String role) {
+
+        DataSource dataSource = DataSourceBuilder.create()
+                .url("jdbc:h2:mem:" + role + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+                .username("sa")
+                .password("")
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table replica_heartbeat (id int not null, beat_at bigint not null, primary key (id))");
+        jdbcTemplate.update("insert into replica_heartbeat (id, beat_at) values (1, 0)");
+        jdbcTemplate.execute("create table stand_in (name varchar(16))");
+        jdbcTemplate.update("insert into stand_in (name) values (?)", role);
+        return dataSource;
+    }
+
+    private String readOnlyRole() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("select name from stand_in", String.class));
+    }
+
+    private void replicaCaughtUp() {
+        new JdbcTemplate(replica).update("update replica_heartbeat set beat_at = ? where id = 1", System.currentTimeMillis());
+        new ReplicaLagMonitor(replicaRoutingDataSource, meterRegistry, Clock.systemUTC(), Duration.ofSeconds(2)).check();
+    }
+
+    // JUnit test for reads and writes routed apart
+    @DisplayName("JUnit test for read-only transactions on the replica and writes on the primary")
+    @Test
+    public void givenCaughtUpReplica_whenTransactions_thenRouteByReadOnly() {
+
+        // given - precondition or setup
+        replicaCaughtUp();
+
+        // when - action or the behaviour that we are going to test
+        String readRole = readOnlyRole();
+        String writeRole = readWrite.execute(status -> jdbcTemplate.queryForObject("select name from stand_in", String.class));
+
+        // then - verify the output
+        assertThat(readRole).isEqualTo("replica");
+        assertThat(writeRole).isEqualTo("primary");
+        assertThat(meterRegistry.get("employee.datasource.connections").tag("route", "replica").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for read-your-writes pinning
+    @DisplayName("JUnit test for reads pinned to the primary after a client's own write")
+    @Test
+    public void givenPinnedThread_whenReadOnlyTransaction_thenReadFromPrimary() {
+
+        // given - precondition or setup
+        replicaCaughtUp();
+        ReadYourWrites.pin();
+
+        // when - action or the behaviour that we are going to test
+        String role = readOnlyRole();
+
+        // then - verify the output
+        assertThat(role).isEqualTo("primary");
+    }
+
+    // JUnit test for a lagging replica
+    @DisplayName("JUnit test for a lagging replica taken out of rotation")
+    @Test
+    public void givenLaggingReplica_whenReadOnlyTransaction_thenFallBackToPrimary() {
+
+        // given - precondition or setup
+        new JdbcTemplate(replica).update("update replica_heartbeat set beat_at = ? where id = 1", System.currentTimeMillis() - 60_000);
+        ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor(replicaRoutingDataSource, meterRegistry, Clock.systemUTC(), Duration.ofSeconds(2));
+
+        // when - action or the behaviour that we are going to test
+        replicaLagMonitor.check();
+        String role = readOnlyRole();
+
+        // then - verify the output
+        assertThat(replicaRoutingDataSource.getReplicas().get(0).isAvailable()).isFalse();
+        assertThat(replicaRoutingDataSource.getReplicas().get(0).getLagMillis()).isGreaterThanOrEqualTo(60_000);
+        assertThat(new JdbcTemplate(primary).queryForObject("select beat_at from replica_heartbeat where id = 1", Long.class)).isPositive();
+        assertThat(role).isEqualTo("primary");
+        assertThat(meterRegistry.get("employee.datasource.connections").tag("route", "fallback").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for an unreachable replica
+    @DisplayName("JUnit test for a replica refusing connections")
+    @Test
+    public void givenUnreachableReplica_whenReadOnlyTransaction_thenFallBackToPrimary() throws Exception {
+
+        // given - precondition or setup
+        DataSource unreachable = mock(DataSource.class);
+        given(unreachable.getConnection()).willThrow(new SQLException("Connection refused"));
+        Replica replica = new Replica("replica-0", unreachable);
+        replica.update(true, 0);
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        // when - action or the behaviour that we are going to test
+        String role = readOnlyRole();
+
+        // then - verify the output
+        assertThat(role).isEqualTo("primary");
+        assertThat(replica.isAvailable()).isFalse();
+    }
+}
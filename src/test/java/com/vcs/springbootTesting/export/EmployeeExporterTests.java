@@ -0,0 +1,105 @@
+package com.vcs.springbootTesting.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vcs.springbootTesting.dto.EmployeeExport;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class EmployeeExporterTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private EmployeeExporter employeeExporter;
+
+    @BeforeEach
+    public void setup() {
+
+        employeeExporter = new EmployeeExporter(jdbcTemplate, transactionManager, directory, "csv", 2);
+        employeeRepository.saveAndFlush(Employee.builder().firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build());
+        employeeRepository.saveAndFlush(Employee.builder().firstName("Vijay").lastName("Raja, Jr.").email("vraja@vraja.com").build());
+    }
+
+    // JUnit test for a CSV export
+    @DisplayName("JUnit test for a CSV export of the employees table")
+    @Test
+    public void givenEmployees_whenExportCsv_thenWriteHeaderAndOneLinePerRow() throws Exception {
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        EmployeeExport export = employeeExporter.export(EmployeeExporter.Format.CSV);
+
+        // then - verify the output
+        List<String> lines = Files.readAllLines(directory.resolve(export.getName()));
+        assertThat(export.getRows()).isEqualTo(2);
+        assertThat(export.getSize()).isEqualTo(Files.size(directory.resolve(export.getName())));
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo("id,firstName,lastName,email,version,updatedAt");
+        assertThat(lines.get(2)).contains(",Vijay,\"Raja, Jr.\",vraja@vraja.com,0,");
+        assertThat(employeeExporter.exportFile(export.getName())).isPresent();
+    }
+
+    // JUnit test for an NDJSON export
+    @DisplayName("JUnit test for an NDJSON export read back line by line")
+    @Test
+    public void givenEmployees_whenExportNdjson_thenWriteOneDocumentPerLine() throws Exception {
+
+        // given - precondition or setup
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // when - action or the behaviour that we are going to test
+        EmployeeExport export = employeeExporter.export(EmployeeExporter.Format.NDJSON);
+
+        // then - verify the output
+        List<String> lines = Files.readAllLines(directory.resolve(export.getName()));
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), Employee.class).getEmail()).isEqualTo("vcs@vcs.com");
+        assertThat(objectMapper.readValue(lines.get(1), Employee.class).getLastName()).isEqualTo("Raja, Jr.");
+    }
+
+    // JUnit test for export retention
+    @DisplayName("JUnit test for old exports removed past the retained count")
+    @Test
+    public void givenRetainTwo_whenExportThreeTimes_thenKeepTheNewestTwo() throws Exception {
+
+        // given - precondition or setup
+        EmployeeExport first = employeeExporter.export(EmployeeExporter.Format.CSV);
+        Thread.sleep(2);
+        employeeExporter.export(EmployeeExporter.Format.CSV);
+        Thread.sleep(2);
+
+        // when - action or the behaviour that we are going to test
+        EmployeeExport third = employeeExporter.export(EmployeeExporter.Format.CSV);
+
+        // then - verify the output
+        assertThat(employeeExporter.listExports()).hasSize(2);
+        assertThat(employeeExporter.latestExport(EmployeeExporter.Format.CSV).get().getName()).isEqualTo(third.getName());
+        assertThat(employeeExporter.exportFile(first.getName())).isEmpty();
+        assertThat(employeeExporter.exportFile("../" + third.getName())).isEmpty();
+    }
+}
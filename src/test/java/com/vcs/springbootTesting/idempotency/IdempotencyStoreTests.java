@@ -0,0 +1,203 @@
+package com.vcs.springbootTesting.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vcs.springbootTesting.dto.IdempotentResponse;
+import com.vcs.springbootTesting.exception.IdempotencyKeyReusedException;
+import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.IdempotencyKey;
+import com.vcs.springbootTesting.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyStoreTests {
+
+    private static final long NOW = 1_000_000_000L;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private Employee employee;
+
+    private String fingerprint;
+
+    @BeforeEach
+    public void setup() {
+
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .build();
+        fingerprint = IdempotencyStore.fingerprintOf(employee);
+    }
+
+    private IdempotencyStore store(boolean persistent) {
+        return new IdempotencyStore(idempotencyKeyRepository, objectMapper, new SimpleMeterRegistry(),
+                Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), 100, Duration.ofHours(24), persistent);
+    }
+
+    // JUnit test for a retried request
+    @DisplayName("JUnit test for a retried request answered from the store")
+    @Test
+    public void givenSameKey_whenExecuteTwice_thenRunOnceAndReplay() {
+
+        // given - precondition or setup
+        IdempotencyStore idempotencyStore = store(false);
+        AtomicInteger runs = new AtomicInteger();
+
+        // when - action or the behaviour that we are going to test
+        IdempotentResponse first = idempotencyStore.execute("key-1", fingerprint, () -> {
+            runs.incrementAndGet();
+            return new IdempotentResponse(201, employee, false);
+        });
+        IdempotentResponse retry = idempotencyStore.execute("key-1", fingerprint, () -> {
+            runs.incrementAndGet();
+            return new IdempotentResponse(201, employee, false);
+        });
+
+        // then - verify the output
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(first.isReplayed()).isFalse();
+        assertThat(retry.isReplayed()).isTrue();
+        assertThat(retry.getEmployee()).isEqualTo(employee);
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    // JUnit test for concurrent duplicates
+    @DisplayName("JUnit test for concurrent duplicates collapsed into one request")
+    @Test
+    public void givenConcurrentDuplicate_whenExecute_thenWaitForTheFirstRequest() throws Exception {
+
+        // given - precondition or setup
+        IdempotencyStore idempotencyStore = store(false);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotentResponse> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("key-1", fingerprint, () -> {
+                    runs.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new IdempotentResponse(201, employee, false);
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when - action or the behaviour that we are going to test
+        CompletableFuture<IdempotentResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("key-1", fingerprint, () -> {
+                    runs.incrementAndGet();
+                    return new IdempotentResponse(201, employee, false);
+                }));
+        release.countDown();
+
+        // then - verify the output
+        assertThat(first.get(5, TimeUnit.SECONDS).isReplayed()).isFalse();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).isReplayed()).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    // JUnit test for a key reused with another request
+    @DisplayName("JUnit test for a key reused with a different request")
+    @Test
+    public void givenDifferentRequest_whenExecuteWithUsedKey_thenThrowsException() {
+
+        // given - precondition or setup
+        IdempotencyStore idempotencyStore = store(false);
+        idempotencyStore.execute("key-1", fingerprint, () -> new IdempotentResponse(201, employee, false));
+        String otherFingerprint = IdempotencyStore.fingerprintOf(employee.toBuilder().email("vraja@vraja.com").build());
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.execute("key-1", otherFingerprint, () -> new IdempotentResponse(201, employee, false)));
+
+        // then - verify the output
+        assertThat(otherFingerprint).isNotEqualTo(fingerprint);
+    }
+
+    // JUnit test for a failed request
+    @DisplayName("JUnit test for a failed request not being stored")
+    @Test
+    public void givenFailedRequest_whenExecuteAgain_thenRunAgain() {
+
+        // given - precondition or setup
+        IdempotencyStore idempotencyStore = store(false);
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> idempotencyStore.execute("key-1", fingerprint, () -> {
+                    throw new ResourceNotFoundException("Employee already exists with given email: vcs@vcs.com");
+                }));
+
+        // when - action or the behaviour that we are going to test
+        IdempotentResponse retry = idempotencyStore.execute("key-1", fingerprint, () -> new IdempotentResponse(201, employee, false));
+
+        // then - verify the output
+        assertThat(retry.isReplayed()).isFalse();
+    }
+
+    // JUnit test for persisted keys
+    @DisplayName("JUnit test for a key persisted by an earlier instance")
+    @Test
+    public void givenPersistedKey_whenExecute_thenReplayWithoutRunning() throws Exception {
+
+        // given - precondition or setup
+        IdempotencyStore idempotencyStore = store(true);
+        given(idempotencyKeyRepository.findById("key-1")).willReturn(Optional.of(
+                new IdempotencyKey("key-1", fingerprint, 201, objectMapper.writeValueAsString(employee), NOW - 1_000)));
+
+        // when - action or the behaviour that we are going to test
+        IdempotentResponse response = idempotencyStore.execute("key-1", fingerprint, () -> {
+            throw new AssertionError("a persisted key must not run again");
+        });
+
+        // then - verify the output
+        assertThat(response.isReplayed()).isTrue();
+        assertThat(response.getEmployee()).isEqualTo(employee);
+        verify(idempotencyKeyRepository, never()).save(any(IdempotencyKey.class));
+    }
+
+    // JUnit test for persisting a first response
+    @DisplayName("JUnit test for persisting a first response")
+    @Test
+    public void givenNewKey_whenExecutePersistent_thenSaveResponse() {
+
+        // given - precondition or setup
+        IdempotencyStore idempotencyStore = store(true);
+        given(idempotencyKeyRepository.findById("key-1")).willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going to test
+        idempotencyStore.execute("key-1", fingerprint, () -> new IdempotentResponse(201, employee, false));
+
+        // then - verify the output
+        verify(idempotencyKeyRepository, times(1)).save(argThat(key ->
+                key.getKey().equals("key-1") && key.getStatus() == 201 && key.getCreatedAt() == NOW));
+    }
+}
@@ -0,0 +1,151 @@
+package com.vcs.springbootTesting.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult.Status;
+import com.vcs.springbootTesting.dto.EmployeeImportError;
+import com.vcs.springbootTesting.dto.EmployeeImportReport;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImporterTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeImporter importer(int chunkSize, int maxReportedErrors) {
+        return new EmployeeImporter(employeeService, new ObjectMapper(), meterRegistry, chunkSize, maxReportedErrors);
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // creates every submitted employee, except the emails given as taken
+    private void givenSaveEmployeesRejecting(String... takenEmails) {
+        given(employeeService.saveEmployees(any())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                results.add(List.of(takenEmails).contains(employee.getEmail())
+                        ? new EmployeeBatchResult(i, Status.DUPLICATE, employee, "Employee already exists with the given email: " + employee.getEmail())
+                        : new EmployeeBatchResult(i, Status.CREATED, employee.toBuilder().id(i + 1).build(), null));
+            }
+            return results;
+        });
+    }
+
+    // JUnit test for a CSV import
+    @DisplayName("JUnit test for a CSV import with invalid and duplicate rows")
+    @Test
+    public void givenCsv_whenImportEmployees_thenReportRejectedRowsByLine() throws Exception {
+
+        // given - precondition or setup
+        givenSaveEmployeesRejecting("vraja@vraja.com");
+        String csv = """
+                email,first_name,last_name,department
+                vcs@vcs.com,Vivek,Chandra,IT
+                vraja@vraja.com,Vijay,Raja,HR
+
+                not-an-email,Ravi,Kumar,IT
+                "jane@vcs.com"," Jane ","Doe, Jr.",IT
+                """;
+
+        // when - action or the behaviour that we are going to test
+        EmployeeImportReport report = importer(1000, 100).importEmployees(input(csv), EmployeeImporter.Format.CSV);
+
+        // then - verify the output
+        assertThat(report.getRows()).isEqualTo(4);
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getDuplicates()).isEqualTo(1);
+        assertThat(report.getInvalid()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(EmployeeImportError::getLine).containsExactly(3L, 5L);
+        assertThat(report.getErrors()).extracting(EmployeeImportError::getStatus).containsExactly(Status.DUPLICATE, Status.INVALID);
+        verify(employeeService, times(1)).saveEmployees(argThat(employees -> employees.size() == 3
+                && employees.get(2).getFirstName().equals("Jane") && employees.get(2).getLastName().equals("Doe, Jr.")));
+    }
+
+    // JUnit test for an NDJSON import in chunks
+    @DisplayName("JUnit test for an NDJSON import written chunk by chunk")
+    @Test
+    public void givenNdjson_whenImportEmployeesInChunks_thenSaveEachChunk() throws Exception {
+
+        // given - precondition or setup
+        givenSaveEmployeesRejecting();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++)
+            ndjson.append("{\"firstName\":\"Vivek\",\"lastName\":\"Chandra\",\"email\":\"vcs").append(i).append("@vcs.com\"}\n");
+        ndjson.append("{\"firstName\":\"Vivek\",\n");
+        List<EmployeeImportError> errors = new ArrayList<>();
+
+        // when - action or the behaviour that we are going to test
+        EmployeeImportReport report = importer(2, 100).importEmployees(input(ndjson.toString()), EmployeeImporter.Format.NDJSON, errors::add);
+
+        // then - verify the output
+        assertThat(report.getCreated()).isEqualTo(5);
+        assertThat(report.getInvalid()).isEqualTo(1);
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).getLine()).isEqualTo(6);
+        assertThat(errors.get(0).getMessage()).startsWith("Malformed JSON");
+        verify(employeeService, times(3)).saveEmployees(any());
+    }
+
+    // JUnit test for the error list cap
+    @DisplayName("JUnit test for a report listing only the first errors")
+    @Test
+    public void givenManyInvalidRows_whenImportEmployees_thenTruncateReportedErrors() throws Exception {
+
+        // given - precondition or setup
+        String csv = "firstName,lastName,email\n" + ",,\n".repeat(10);
+        List<EmployeeImportError> errors = new ArrayList<>();
+
+        // when - action or the behaviour that we are going to test
+        EmployeeImportReport report = importer(4, 3).importEmployees(input(csv), EmployeeImporter.Format.CSV, errors::add);
+
+        // then - verify the output
+        assertThat(report.getInvalid()).isEqualTo(10);
+        assertThat(report.getErrors()).hasSize(3);
+        assertThat(report.isErrorsTruncated()).isTrue();
+        assertThat(errors).hasSize(10);
+        verifyNoInteractions(employeeService);
+    }
+
+    // JUnit test for a CSV without the required columns
+    @DisplayName("JUnit test for a CSV header missing the email column")
+    @Test
+    public void givenCsvWithoutEmailColumn_whenImportEmployees_thenThrowsException() {
+
+        // given - precondition or setup
+        String csv = "firstName,lastName\nVivek,Chandra\n";
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> importer(1000, 100).importEmployees(input(csv), EmployeeImporter.Format.CSV));
+
+        // then - verify the output
+        verifyNoInteractions(employeeService);
+    }
+}
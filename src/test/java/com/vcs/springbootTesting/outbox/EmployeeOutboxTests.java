@@ -0,0 +1,226 @@
+package com.vcs.springbootTesting.outbox;
+
+import com.vcs.springbootTesting.dto.EmployeeChangePage;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
+import com.vcs.springbootTesting.repository.EmployeeChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeOutboxTests {
+
+    private static final long NOW = 1_000_000L;
+
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    private AsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+
+    private EmployeeOutbox employeeOutbox;
+
+    @BeforeEach
+    public void setup() {
+
+        employeeOutbox = new EmployeeOutbox(employeeChangeRepository, taskExecutor, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC),
+                Duration.ofHours(1), Duration.ofDays(7));
+    }
+
+    private static EmployeeChange change(long commitSeq, long changedAt) {
+        return EmployeeChange.builder().seq(commitSeq).commitSeq(commitSeq).employeeId(commitSeq).type(EmployeeChange.Type.UPDATED).changedAt(changedAt).build();
+    }
+
+    // JUnit test for changes after a commit seq
+    @DisplayName("JUnit test for changes after a commit seq continuing from the last one returned")
+    @Test
+    public void givenChanges_whenChangesSince_thenContinueFromTheLastCommitSeq() {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.findMinCommitSeq()).willReturn(1L);
+        given(employeeChangeRepository.findChangesAfter(anyLong(), any(Pageable.class)))
+                .willReturn(List.of(change(11, NOW - 100), change(12, NOW - 100)));
+
+        // when - action or the behaviour that we are going to test
+        EmployeeChangePage page = employeeOutbox.changesSince(10, 100);
+
+        // then - verify the output
+        assertThat(page.getChanges()).extracting(EmployeeChange::getCommitSeq).containsExactly(11L, 12L);
+        assertThat(page.getNextSince()).isEqualTo(12L);
+        assertThat(page.isResyncRequired()).isFalse();
+    }
+
+    // JUnit test for an empty page
+    @DisplayName("JUnit test for changes after the newest commit seq keeping since")
+    @Test
+    public void givenNoNewChanges_whenChangesSince_thenKeepSince() {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.findMinCommitSeq()).willReturn(1L);
+        given(employeeChangeRepository.findChangesAfter(anyLong(), any(Pageable.class))).willReturn(List.of());
+
+        // when - action or the behaviour that we are going to test
+        EmployeeChangePage page = employeeOutbox.changesSince(10, 100);
+
+        // then - verify the output
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNextSince()).isEqualTo(10L);
+    }
+
+    // JUnit test for pollers behind the pruned part of the log
+    @DisplayName("JUnit test for pollers behind the pruned part of the log")
+    @Test
+    public void givenPrunedChanges_whenChangesSince_thenRequireResync() {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.findMinCommitSeq()).willReturn(50L);
+        given(employeeChangeRepository.findMaxCommitSeq()).willReturn(80L);
+
+        // when - action or the behaviour that we are going to test
+        EmployeeChangePage page = employeeOutbox.changesSince(10, 100);
+
+        // then - verify the output
+        assertThat(page.isResyncRequired()).isTrue();
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNextSince()).isEqualTo(80L);
+        verify(employeeChangeRepository, never()).findChangesAfter(anyLong(), any(Pageable.class));
+    }
+
+    // JUnit test for long polling
+    @DisplayName("JUnit test for long polling woken up once a commit is numbered")
+    @Test
+    public void givenNoChanges_whenAwaitAndChangeRecorded_thenComplete() throws Exception {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.findMinCommitSeq()).willReturn(null);
+        given(employeeChangeRepository.assignCommitSeqs(EmployeeOutbox.MAINTENANCE_CHUNK_SIZE)).willReturn(1);
+        given(employeeChangeRepository.findChangesAfter(anyLong(), any(Pageable.class)))
+                .willReturn(List.of())
+                .willReturn(List.of(change(1, NOW)));
+        CompletableFuture<EmployeeChangePage> page = employeeOutbox.awaitChangesSince(0, 100, Duration.ofSeconds(30));
+
+        // when - action or the behaviour that we are going to test
+        employeeOutbox.record(EmployeeChange.Type.CREATED, Employee.builder().id(1L).build());
+
+        // then - verify the output
+        assertThat(page.get(5, TimeUnit.SECONDS).getChanges()).extracting(EmployeeChange::getCommitSeq).containsExactly(1L);
+    }
+
+    // JUnit test for long polls that time out
+    @DisplayName("JUnit test for timed out long polls leaving no waiter behind")
+    @Test
+    public void givenNoCommit_whenAwaitChangesSinceTimesOut_thenReturnEmptyAndForgetWaiter() throws Exception {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.findMinCommitSeq()).willReturn(1L);
+        given(employeeChangeRepository.findChangesAfter(anyLong(), any(Pageable.class))).willReturn(List.of());
+
+        // when - action or the behaviour that we are going to test
+        List<CompletableFuture<EmployeeChangePage>> pages = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            pages.add(employeeOutbox.awaitChangesSince(0, 100, Duration.ofMillis(50)));
+
+        // then - verify the output
+        for (CompletableFuture<EmployeeChangePage> page : pages)
+            assertThat(page.get(5, TimeUnit.SECONDS).getChanges()).isEmpty();
+        assertThat(employeeOutbox.waiting()).isZero();
+    }
+
+    // JUnit test for the table version
+    @DisplayName("JUnit test for the table version withheld while a committed change waits for its commit seq")
+    @Test
+    public void givenUnnumberedChange_whenHead_thenReturnEmpty() {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.existsByCommitSeqIsNull()).willReturn(true, false);
+        given(employeeChangeRepository.findFirstByCommitSeqNotNullOrderByCommitSeqDesc()).willReturn(Optional.of(change(7, NOW - 1_000)));
+
+        // when - action or the behaviour that we are going to test
+        Optional<EmployeeChange> pending = employeeOutbox.head();
+        Optional<EmployeeChange> numbered = employeeOutbox.head();
+
+        // then - verify the output
+        assertThat(pending).isEmpty();
+        assertThat(numbered).map(EmployeeChange::getCommitSeq).contains(7L);
+    }
+
+    // JUnit test for numbering committed changes
+    @DisplayName("JUnit test for numbering committed changes chunk by chunk")
+    @Test
+    public void givenManyCommittedChanges_whenSequence_thenAssignChunksUntilNoneLeft() {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.assignCommitSeqs(EmployeeOutbox.MAINTENANCE_CHUNK_SIZE))
+                .willReturn(EmployeeOutbox.MAINTENANCE_CHUNK_SIZE, 3);
+
+        // when - action or the behaviour that we are going to test
+        employeeOutbox.sequence();
+
+        // then - verify the output
+        verify(employeeChangeRepository, times(2)).assignCommitSeqs(EmployeeOutbox.MAINTENANCE_CHUNK_SIZE);
+    }
+
+    // JUnit test for pruning everything
+    @DisplayName("JUnit test for pruning keeping the newest change")
+    @Test
+    public void givenOnlyOldChanges_whenPrune_thenKeepTheHead() {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.findMaxCommitSeqBefore(NOW - Duration.ofDays(7).toMillis())).willReturn(40L);
+        given(employeeChangeRepository.findMaxCommitSeq()).willReturn(40L);
+        given(employeeChangeRepository.findSeqsThrough(eq(39L), any(Pageable.class))).willReturn(List.of(1L, 2L));
+
+        // when - action or the behaviour that we are going to test
+        int pruned = employeeOutbox.prune();
+
+        // then - verify the output
+        assertThat(pruned).isEqualTo(2);
+        verify(employeeChangeRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    // JUnit test for pruning
+    @DisplayName("JUnit test for pruning old changes in bounded chunks")
+    @Test
+    public void givenOldChanges_whenPrune_thenDeleteChunkByChunk() {
+
+        // given - precondition or setup
+        given(employeeChangeRepository.findMaxCommitSeqBefore(NOW - Duration.ofDays(7).toMillis())).willReturn(1_500L);
+        // newer changes exist, the head is not among the old ones
+        given(employeeChangeRepository.findMaxCommitSeq()).willReturn(1_600L);
+        List<Long> fullChunk = LongStream.rangeClosed(1, EmployeeOutbox.MAINTENANCE_CHUNK_SIZE).boxed().toList();
+        given(employeeChangeRepository.findSeqsThrough(eq(1_500L), any(Pageable.class))).willReturn(fullChunk, List.of(1_001L));
+
+        // when - action or the behaviour that we are going to test
+        int pruned = employeeOutbox.prune();
+
+        // then - verify the output
+        assertThat(pruned).isEqualTo(EmployeeOutbox.MAINTENANCE_CHUNK_SIZE + 1);
+        verify(employeeChangeRepository, times(2)).deleteAllByIdInBatch(anyList());
+        assertThat(employeeOutbox.changesSince(1_499, 100).isResyncRequired()).isTrue();
+    }
+}
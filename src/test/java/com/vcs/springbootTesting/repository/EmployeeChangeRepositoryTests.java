@@ -0,0 +1,103 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class EmployeeChangeRepositoryTests {
+
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    private static Employee employee(long id, String email) {
+        return Employee.builder().id(id).firstName("Vivek").lastName("Chandra").email(email).build();
+    }
+
+    // JUnit test to batch append operation
+    @DisplayName("JUnit test to batch append operation")
+    @Test
+    public void givenChanges_whenAppendAll_thenReadBackInSeqOrder() {
+
+        // given - precondition or setup
+        employeeChangeRepository.appendAll(List.of(
+                EmployeeChange.of(EmployeeChange.Type.CREATED, employee(1L, "vcs@vcs.com"), 100L),
+                EmployeeChange.of(EmployeeChange.Type.DELETED, employee(1L, "vcs@vcs.com"), 200L)));
+        employeeChangeRepository.assignCommitSeqs(10);
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeChange> changes = employeeChangeRepository.findChangesAfter(0L, PageRequest.ofSize(10));
+
+        // then - verify the output
+        assertThat(changes).extracting(EmployeeChange::getType)
+                .containsExactly(EmployeeChange.Type.CREATED, EmployeeChange.Type.DELETED);
+        assertThat(changes.get(1).getEmail()).isNull();
+    }
+
+    // JUnit test to assignCommitSeqs operation
+    @DisplayName("JUnit test to assignCommitSeqs operation")
+    @Test
+    public void givenNumberedAndNewChanges_whenAssignCommitSeqs_thenNumberOnlyTheNewOnesAfterTheLast() {
+
+        // given - precondition or setup
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, employee(1L, "vcs@vcs.com"), 100L));
+        int first = employeeChangeRepository.assignCommitSeqs(10);
+        Long firstCommitSeq = employeeChangeRepository.findMaxCommitSeq();
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, employee(2L, "vraja@vraja.com"), 200L));
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, employee(3L, "new@vcs.com"), 300L));
+
+        // when - action or the behaviour that we are going to test
+        int second = employeeChangeRepository.assignCommitSeqs(10);
+
+        // then - verify the output
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(employeeChangeRepository.existsByCommitSeqIsNull()).isFalse();
+        assertThat(employeeChangeRepository.findChangesAfter(firstCommitSeq, PageRequest.ofSize(10)))
+                .extracting(EmployeeChange::getEmployeeId).containsExactly(2L, 3L);
+    }
+
+    // JUnit test to compaction query
+    @DisplayName("JUnit test to compaction query")
+    @Test
+    public void givenSupersededChanges_whenFindSupersededBefore_thenReturnOnlyOlderRowsOfTheSameEmployee() {
+
+        // given - precondition or setup
+        EmployeeChange first = employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, employee(1L, "vcs@vcs.com"), 100L));
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.UPDATED, employee(1L, "new@vcs.com"), 200L));
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, employee(2L, "vraja@vraja.com"), 100L));
+        employeeChangeRepository.assignCommitSeqs(10);
+
+        // when - action or the behaviour that we are going to test
+        List<Long> superseded = employeeChangeRepository.findSupersededBefore(1_000L, PageRequest.ofSize(10));
+
+        // then - verify the output
+        assertThat(superseded).containsExactly(first.getSeq());
+    }
+
+    // JUnit test to prune operation
+    @DisplayName("JUnit test to prune operation")
+    @Test
+    public void givenOldChanges_whenFindSeqsThrough_thenKeepNewerRows() {
+
+        // given - precondition or setup
+        EmployeeChange old = employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, employee(1L, "vcs@vcs.com"), 100L));
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, employee(2L, "vraja@vraja.com"), 5_000L));
+        employeeChangeRepository.assignCommitSeqs(10);
+
+        // when - action or the behaviour that we are going to test
+        Long through = employeeChangeRepository.findMaxCommitSeqBefore(1_000L);
+        List<Long> pruned = employeeChangeRepository.findSeqsThrough(through, PageRequest.ofSize(10));
+
+        // then - verify the output
+        assertThat(pruned).containsExactly(old.getSeq());
+    }
+}
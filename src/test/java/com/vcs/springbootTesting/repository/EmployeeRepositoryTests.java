@@ -1,16 +1,25 @@
 package com.vcs.springbootTesting.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.vcs.springbootTesting.dto.EmployeeSummary;
 import com.vcs.springbootTesting.model.Employee;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @DataJpaTest
 public class EmployeeRepositoryTests {
@@ -18,6 +27,12 @@ public class EmployeeRepositoryTests {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Employee employee;
 
     @BeforeEach
@@ -260,4 +275,210 @@ public class EmployeeRepositoryTests {
         // then - verify the output
         assertThat(employeeDB).isNotNull();
     }
+
+    // JUnit test to keyset pagination query
+    @DisplayName("JUnit test to keyset pagination query")
+    @Test
+    public void givenEmployeesList_whenFindPageAfter_thenReturnNextPageOrderedById() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build();
+        Employee employee3 = Employee.builder().firstName("Chandra").lastName("Chandra").email("chandra@chandra.com").build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        employeeRepository.save(employee3);
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> page = employeeRepository.findPageAfter(employee.getId(), PageRequest.ofSize(1));
+
+        // then - verify the output
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getId()).isEqualTo(employee2.getId());
+    }
+
+    // JUnit test to streaming query over all employees
+    @DisplayName("JUnit test to streaming query over all employees")
+    @Test
+    public void givenEmployeesList_whenStreamAll_thenStreamEveryEmployee() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employeeList;
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employeeList = employees.toList();
+        }
+
+        // then - verify the output
+        assertThat(employeeList).extracting(Employee::getEmail).containsExactly("vcs@vcs.com", "vraja@vraja.com");
+    }
+
+    // JUnit test to batch insert operation
+    @DisplayName("JUnit test to batch insert operation")
+    @Test
+    public void givenEmployeesList_whenInsertAll_thenAssignGeneratedIds() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build();
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> insertedEmployees = employeeRepository.insertAll(List.of(employee, employee2));
+
+        // then - verify the output
+        assertThat(insertedEmployees).allSatisfy(e -> assertThat(e.getId()).isGreaterThan(0));
+        assertThat(employeeRepository.findById(employee2.getId())).get()
+                .extracting(Employee::getEmail).isEqualTo("vraja@vraja.com");
+    }
+
+    // JUnit test to duplicate email check for a chunk of emails
+    @DisplayName("JUnit test to duplicate email check for a chunk of emails")
+    @Test
+    public void givenSavedEmployee_whenFindExistingEmails_thenReturnOnlyExistingEmails() {
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action or the behaviour that we are going to test
+        List<String> existingEmails = employeeRepository.findExistingEmails(List.of("vcs@vcs.com", "vraja@vraja.com"));
+
+        // then - verify the output
+        assertThat(existingEmails).containsExactly("vcs@vcs.com");
+    }
+
+    // JUnit test to single-statement update operation
+    @DisplayName("JUnit test to single-statement update operation")
+    @Test
+    public void givenEmployeeObject_whenUpdateById_thenUpdateRowAndBumpVersion() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+
+        // when - action or the behaviour that we are going to test
+        int updatedRows = employeeRepository.updateById(employee.getId(), "Vraja", "Mohana", "vraja@vraja.com", 1L);
+
+        // then - verify the output
+        Employee employeeDB = employeeRepository.findById(employee.getId()).get();
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(employeeDB.getFirstName()).isEqualTo("Vraja");
+        assertThat(employeeDB.getVersion()).isEqualTo(1L);
+        assertThat(employeeDB.getUpdatedAt()).isEqualTo(1L);
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(1L);
+    }
+
+    // JUnit test to single-statement delete operation
+    @DisplayName("JUnit test to single-statement delete operation")
+    @Test
+    public void givenEmployeeObject_whenDeleteRowById_thenReturnDeletedCount() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+
+        // when - action or the behaviour that we are going to test
+        int deletedRows = employeeRepository.deleteRowById(employee.getId());
+        int deletedAgain = employeeRepository.deleteRowById(employee.getId());
+
+        // then - verify the output
+        assertThat(deletedRows).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    }
+
+    // JUnit test to optimistic single-statement update operation
+    @DisplayName("JUnit test to optimistic single-statement update operation")
+    @Test
+    public void givenStaleVersion_whenUpdateByIdAndVersion_thenUpdateNothing() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        testEntityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        int currentVersionRows = employeeRepository.updateByIdAndVersion(employee.getId(), 0L, "Vraja", "Mohana", "vraja@vraja.com", 1L);
+        int staleVersionRows = employeeRepository.updateByIdAndVersion(employee.getId(), 0L, "Vivek", "Chandra", "vcs@vcs.com", 1L);
+
+        // then - verify the output
+        assertThat(currentVersionRows).isEqualTo(1);
+        assertThat(staleVersionRows).isEqualTo(0);
+        assertThat(employeeRepository.findById(employee.getId()).get().getEmail()).isEqualTo("vraja@vraja.com");
+    }
+
+    // JUnit test to unique email index
+    @DisplayName("JUnit test to unique email index")
+    @Test
+    public void givenSavedEmail_whenSaveSameEmail_thenThrowsDataIntegrityViolation() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Employee duplicateEmployee = Employee.builder().firstName("Vraja").lastName("Mohana").email("vcs@vcs.com").build();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThatThrownBy(() -> employeeRepository.saveAndFlush(duplicateEmployee))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("UK_EMPLOYEES_EMAIL");
+    }
+
+    // JUnit test to query plan of the email lookup
+    @DisplayName("JUnit test to query plan of the email lookup")
+    @Test
+    public void givenEmailLookup_whenExplain_thenUseUniqueEmailIndex() {
+
+        // when - action or the behaviour that we are going to test
+        String plan = jdbcTemplate.queryForObject("explain select * from employees where email = 'vcs@vcs.com'", String.class);
+
+        // then - verify the output
+        assertThat(plan).containsIgnoringCase("uk_employees_email");
+    }
+
+    // JUnit test to query plan of the name lookup
+    @DisplayName("JUnit test to query plan of the name lookup")
+    @Test
+    public void givenNameLookup_whenExplain_thenUseCompositeNameIndex() {
+
+        // when - action or the behaviour that we are going to test
+        String plan = jdbcTemplate.queryForObject(
+                "explain select * from employees e where e.first_name = 'Vivek' and e.last_name = 'Chandra'", String.class);
+
+        // then - verify the output
+        assertThat(plan).containsIgnoringCase("idx_employees_name");
+    }
+
+    // JUnit test to list projection operation
+    @DisplayName("JUnit test to list projection operation")
+    @Test
+    public void givenEmployeesList_whenFindAllSummaries_thenReturnUnmanagedSummaries() {
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeSummary> summaries = employeeRepository.findAllSummaries(PageRequest.ofSize(10));
+
+        // then - verify the output
+        assertThat(summaries).extracting(EmployeeSummary::getEmail).containsExactly("vcs@vcs.com", "vraja@vraja.com");
+        assertThat(summaries.get(0).getId()).isEqualTo(employee.getId());
+        assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    // JUnit test to field projection operation
+    @DisplayName("JUnit test to field projection operation")
+    @Test
+    public void givenFields_whenFindAllFields_thenReturnOnlyThoseFields() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+
+        // when - action or the behaviour that we are going to test
+        List<Map<String, Object>> rows = employeeRepository.findAllFields(List.of("email", "id"));
+
+        // then - verify the output
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(Map.entry("email", "vcs@vcs.com"), Map.entry("id", employee.getId()));
+    }
 }
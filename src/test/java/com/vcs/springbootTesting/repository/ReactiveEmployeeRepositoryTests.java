@@ -0,0 +1,170 @@
+package com.vcs.springbootTesting.repository;
+
+import com.vcs.springbootTesting.model.EmployeeRecord;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-employees?options=DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+public class ReactiveEmployeeRepositoryTests {
+
+    @Autowired
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    private EmployeeRecord employee;
+
+    @BeforeEach
+    public void setUp() {
+
+        // same schema the JPA side gets from Flyway
+        databaseClient.sql("drop table if exists employees").then()
+                .then(databaseClient.sql("drop table if exists employee_changes").then())
+                .then(new ResourceDatabasePopulator(
+                        new ClassPathResource("db/migration/h2/V1__create_employees.sql"),
+                        new ClassPathResource("db/migration/h2/V2__index_employees.sql"),
+                        new ClassPathResource("db/migration/h2/V3__create_employee_changes.sql"),
+                        new ClassPathResource("db/migration/h2/V4__add_employees_updated_at.sql")).populate(connectionFactory))
+                .block();
+
+        employee = EmployeeRecord.builder()
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .build();
+    }
+
+    // JUnit test to save operation
+    @DisplayName("JUnit test for save operation (reactive)")
+    @Test
+    public void givenEmployeeObject_whenSave_thenReturnSavedEmployee() {
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeRepository.save(employee))
+                .assertNext(savedEmployee -> {
+                    assertThat(savedEmployee.getId()).isGreaterThan(0);
+                    assertThat(savedEmployee.getVersion()).isEqualTo(0L);
+                })
+                .verifyComplete();
+    }
+
+    // JUnit test to get employee by email operation
+    @DisplayName("JUnit test to get employee by email operation (reactive)")
+    @Test
+    public void givenEmployeeObject_whenFindByEmail_thenReturnEmployeeObject() {
+
+        // given - precondition or setup
+        reactiveEmployeeRepository.save(employee).block();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeRepository.findByEmail("vcs@vcs.com"))
+                .assertNext(employeeDB -> assertThat(employeeDB.getFirstName()).isEqualTo("Vivek"))
+                .verifyComplete();
+    }
+
+    // JUnit test to name queries
+    @DisplayName("JUnit test to name queries (reactive)")
+    @Test
+    public void givenFirstNameAndLastName_whenFindByName_thenReturnEmployeeObject() {
+
+        // given - precondition or setup
+        reactiveEmployeeRepository.save(employee).block();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeRepository.findByFirstNameAndLastName("Vivek", "Chandra"))
+                .assertNext(employeeDB -> assertThat(employeeDB.getEmail()).isEqualTo("vcs@vcs.com"))
+                .verifyComplete();
+        StepVerifier.create(reactiveEmployeeRepository.findByNativeSQLNamedParams("Vivek", "Chandra"))
+                .assertNext(employeeDB -> assertThat(employeeDB.getEmail()).isEqualTo("vcs@vcs.com"))
+                .verifyComplete();
+    }
+
+    // JUnit test to streaming all employees with backpressure
+    @DisplayName("JUnit test to streaming all employees with backpressure (reactive)")
+    @Test
+    public void givenEmployeesList_whenStreamAll_thenEmitOnDemandInIdOrder() {
+
+        // given - precondition or setup
+        reactiveEmployeeRepository.save(employee).block();
+        reactiveEmployeeRepository.save(EmployeeRecord.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build()).block();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeRepository.streamAll(), 1)
+                .assertNext(employeeDB -> assertThat(employeeDB.getEmail()).isEqualTo("vcs@vcs.com"))
+                .thenRequest(1)
+                .assertNext(employeeDB -> assertThat(employeeDB.getEmail()).isEqualTo("vraja@vraja.com"))
+                .verifyComplete();
+    }
+
+    // JUnit test to optimistic single-statement update operation
+    @DisplayName("JUnit test to optimistic single-statement update operation (reactive)")
+    @Test
+    public void givenStaleVersion_whenUpdateByIdAndVersion_thenUpdateNothing() {
+
+        // given - precondition or setup
+        EmployeeRecord savedEmployee = reactiveEmployeeRepository.save(employee).block();
+
+        // when - action or the behaviour that we are going to test
+        Integer currentVersionRows = reactiveEmployeeRepository
+                .updateByIdAndVersion(savedEmployee.getId(), 0L, "Vraja", "Mohana", "vraja@vraja.com", 1L).block();
+        Integer staleVersionRows = reactiveEmployeeRepository
+                .updateByIdAndVersion(savedEmployee.getId(), 0L, "Vivek", "Chandra", "vcs@vcs.com", 1L).block();
+
+        // then - verify the output
+        assertThat(currentVersionRows).isEqualTo(1);
+        assertThat(staleVersionRows).isEqualTo(0);
+        StepVerifier.create(reactiveEmployeeRepository.findById(savedEmployee.getId()))
+                .assertNext(employeeDB -> {
+                    assertThat(employeeDB.getEmail()).isEqualTo("vraja@vraja.com");
+                    assertThat(employeeDB.getVersion()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    // JUnit test to delete operation with its change log row
+    @DisplayName("JUnit test to single-statement delete and change log insert (reactive)")
+    @Test
+    public void givenEmployeeObject_whenDeleteRowByIdAndInsertChange_thenRowGoneAndChangeLogged() {
+
+        // given - precondition or setup
+        EmployeeRecord savedEmployee = reactiveEmployeeRepository.save(employee).block();
+        reactiveEmployeeRepository.updateById(savedEmployee.getId(), "Vraja", "Mohana", "vraja@vraja.com", 1L).block();
+
+        // when - action or the behaviour that we are going to test
+        Long version = reactiveEmployeeRepository.findVersionById(savedEmployee.getId()).block();
+        Integer deletedRows = reactiveEmployeeRepository.deleteRowById(savedEmployee.getId()).block();
+        Integer deletedAgain = reactiveEmployeeRepository.deleteRowById(savedEmployee.getId()).block();
+        Integer changeRows = reactiveEmployeeRepository.insertChange(savedEmployee.getId(), "DELETED", null, null, null, null, 2L).block();
+
+        // then - verify the output
+        assertThat(version).isEqualTo(1L);
+        assertThat(deletedRows).isEqualTo(1);
+        assertThat(deletedAgain).isEqualTo(0);
+        assertThat(changeRows).isEqualTo(1);
+        StepVerifier.create(databaseClient.sql("select change_type from employee_changes").map(row -> row.get("change_type", String.class)).all())
+                .expectNext("DELETED")
+                .verifyComplete();
+    }
+}
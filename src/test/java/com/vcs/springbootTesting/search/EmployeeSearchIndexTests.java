@@ -0,0 +1,157 @@
+package com.vcs.springbootTesting.search;
+
+import com.vcs.springbootTesting.dto.EmployeeSearchResult;
+import com.vcs.springbootTesting.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeSearchIndexTests {
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @BeforeEach
+    public void setup() {
+
+        employeeSearchIndex = new EmployeeSearchIndex();
+        employeeSearchIndex.put(Employee.builder().id(1L).firstName("Vivek").lastName("Chandra").email("vcs@vcs.com").build());
+        employeeSearchIndex.put(Employee.builder().id(2L).firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build());
+        employeeSearchIndex.put(Employee.builder().id(3L).firstName("Chandra").lastName("Shekhar").email("chandra.shekhar@vcs.com").build());
+    }
+
+    // JUnit test for prefix search across fields
+    @DisplayName("JUnit test for prefix search across fields")
+    @Test
+    public void givenPrefix_whenSearch_thenReturnMatchesRankedByField() {
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = employeeSearchIndex.search("chand", 10).getEmployees();
+
+        // then - verify the output
+        // last name outranks first name, both outrank the email local part
+        assertThat(employees).extracting(Employee::getId).containsExactly(1L, 3L);
+    }
+
+    // JUnit test for multi term search
+    @DisplayName("JUnit test for multi term search")
+    @Test
+    public void givenTwoTerms_whenSearch_thenEveryTermMustMatch() {
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = employeeSearchIndex.search("V Moh", 10).getEmployees();
+
+        // then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(2L);
+    }
+
+    // JUnit test for search result limit
+    @DisplayName("JUnit test for search result limit")
+    @Test
+    public void givenLimit_whenSearch_thenReturnAtMostLimitResults() {
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = employeeSearchIndex.search("v", 1).getEmployees();
+
+        // then - verify the output
+        assertThat(employees).hasSize(1);
+    }
+
+    // JUnit test for a first term matching more than the index scores
+    @DisplayName("JUnit test for a broad prefix flagging the result as truncated")
+    @Test
+    public void givenMoreMatchesThanCandidates_whenSearch_thenTruncated() {
+
+        // given - precondition or setup
+        for (long id = 10; id < 10 + EmployeeSearchIndex.MAX_CANDIDATES; id++)
+            employeeSearchIndex.put(Employee.builder().id(id).firstName("Sam").lastName("Smith").email("sam" + id + "@vcs.com").build());
+
+        // when - action or the behaviour that we are going to test
+        EmployeeSearchResult broad = employeeSearchIndex.search("s", 10);
+        EmployeeSearchResult narrow = employeeSearchIndex.search("shek", 10);
+
+        // then - verify the output
+        assertThat(broad.isTruncated()).isTrue();
+        assertThat(broad.getEmployees()).hasSize(10);
+        assertThat(narrow.isTruncated()).isFalse();
+        assertThat(narrow.getEmployees()).extracting(Employee::getId).containsExactly(3L);
+    }
+
+    // JUnit test for updates and removals
+    @DisplayName("JUnit test for updates and removals")
+    @Test
+    public void givenUpdatedAndRemovedEmployees_whenSearch_thenReflectChanges() {
+
+        // given - precondition or setup
+        employeeSearchIndex.put(Employee.builder().id(2L).firstName("Radha").lastName("Mohana").email("radha@vraja.com").build());
+        employeeSearchIndex.remove(1L);
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> byOldName = employeeSearchIndex.search("vraja", 10).getEmployees();
+        List<Employee> byNewName = employeeSearchIndex.search("radha", 10).getEmployees();
+        List<Employee> byRemovedName = employeeSearchIndex.search("vivek", 10).getEmployees();
+
+        // then - verify the output
+        assertThat(byOldName).isEmpty();
+        assertThat(byNewName).extracting(Employee::getId).containsExactly(2L);
+        assertThat(byRemovedName).isEmpty();
+    }
+
+    // JUnit test for the initial load not overriding live writes
+    @DisplayName("JUnit test for the initial load not overriding live writes")
+    @Test
+    public void givenLiveWritesDuringLoad_whenLoad_thenKeepLiveState() {
+
+        // given - precondition or setup
+        employeeSearchIndex = new EmployeeSearchIndex();
+        employeeSearchIndex.beginLoad();
+        employeeSearchIndex.put(Employee.builder().id(1L).firstName("Vivek").lastName("Chandra").email("new@vcs.com").build());
+        employeeSearchIndex.remove(2L);
+
+        // when - action or the behaviour that we are going to test
+        employeeSearchIndex.load(Employee.builder().id(1L).firstName("Vivek").lastName("Chandra").email("old@vcs.com").build());
+        employeeSearchIndex.load(Employee.builder().id(2L).firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build());
+        employeeSearchIndex.endLoad();
+
+        // then - verify the output
+        assertThat(employeeSearchIndex.isReady()).isTrue();
+        assertThat(employeeSearchIndex.search("new", 10).getEmployees()).extracting(Employee::getId).containsExactly(1L);
+        assertThat(employeeSearchIndex.search("old", 10).getEmployees()).isEmpty();
+        assertThat(employeeSearchIndex.search("vraja", 10).getEmployees()).isEmpty();
+    }
+
+    // JUnit test for a posting shared by documents written concurrently
+    @DisplayName("JUnit test for concurrent writes never losing an id from a shared posting")
+    @Test
+    public void givenConcurrentPutAndRemove_whenSearch_thenEveryLiveDocumentFound() throws Exception {
+
+        // given - precondition or setup
+        employeeSearchIndex = new EmployeeSearchIndex();
+        Employee amy = Employee.builder().id(1L).firstName("Amy").lastName("Zed").email("amy@vcs.com").build();
+        Employee bob = Employee.builder().id(2L).firstName("Bob").lastName("Zed").email("bob@vcs.com").build();
+        int lost = 0;
+
+        // when - action or the behaviour that we are going to test
+        // both keep emptying and refilling the "l|zed" posting
+        Thread churn = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                employeeSearchIndex.put(amy);
+                employeeSearchIndex.remove(1L);
+            }
+        });
+        churn.start();
+        for (int i = 0; i < 20_000; i++) {
+            employeeSearchIndex.put(bob);
+            if ( employeeSearchIndex.search("zed", 10).getEmployees().stream().noneMatch(employee -> employee.getId() == 2L) )
+                lost++;
+            employeeSearchIndex.remove(2L);
+        }
+        churn.join();
+
+        // then - verify the output
+        assertThat(lost).isZero();
+    }
+}
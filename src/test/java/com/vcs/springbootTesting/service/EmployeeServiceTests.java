@@ -1,9 +1,23 @@
 package com.vcs.springbootTesting.service;
 
+import com.vcs.springbootTesting.cache.EmployeeCache;
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeLookup;
+import com.vcs.springbootTesting.dto.EmployeePage;
+import com.vcs.springbootTesting.dto.EmployeeSearchResult;
+import com.vcs.springbootTesting.dto.EmployeeSummary;
 import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.exception.SearchIndexNotReadyException;
 import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeChange;
+import com.vcs.springbootTesting.outbox.EmployeeOutbox;
 import com.vcs.springbootTesting.repository.EmployeeRepository;
+import com.vcs.springbootTesting.search.EmployeeSearchIndex;
 import com.vcs.springbootTesting.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,16 +25,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +52,21 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EmployeeCache employeeCache;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private EmployeeOutbox employeeOutbox;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     //    private EmployeeService employeeService;
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -54,8 +92,7 @@ public class EmployeeServiceTests {
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
 
         // given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         // when - action or the behaviour that we are going to test
         Employee savedEmployee = employeeService.saveEmployee(employee);
@@ -70,7 +107,8 @@ public class EmployeeServiceTests {
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
 
         // given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_4")));
 //        given(employeeRepository.save(employee)).willReturn(employee);
 
         // when - action or the behaviour that we are going to test
@@ -83,6 +121,8 @@ public class EmployeeServiceTests {
         // then - verify the output
 //        assertThat(savedEmployee).isNotNull();
         verify(employeeRepository, never()).save(any(Employee.class));
+        assertThat(meterRegistry.get("employee.duplicate.email.rejections").tag("operation", "single").counter().count())
+                .isEqualTo(1.0);
     }
 
     // JUnit test for getAllEmployees method
@@ -127,6 +167,51 @@ public class EmployeeServiceTests {
         assertThat(employeeList.size()).isEqualTo(0);
     }
 
+    // JUnit test for getEmployeeSummaries method
+    @DisplayName("JUnit test to getEmployeeSummaries method")
+    @Test
+    public void givenEmployeesList_whenGetEmployeeSummaries_thenReturnProjection() {
+
+        // given - precondition or setup
+        EmployeeSummary summary = new EmployeeSummary(1L, "Vivek", "Chandra", "vcs@vcs.com", 0L);
+        given(employeeRepository.findAllSummaries(Pageable.ofSize(10))).willReturn(List.of(summary));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeSummary> summaries = employeeService.getEmployeeSummaries(10);
+
+        // then - verify the output
+        assertThat(summaries).containsExactly(summary);
+        verify(employeeRepository, never()).findAll();
+    }
+
+    // JUnit test for getEmployeeFields method
+    @DisplayName("JUnit test to getEmployeeFields method")
+    @Test
+    public void givenFields_whenGetEmployeeFields_thenSelectDistinctFields() {
+
+        // given - precondition or setup
+        given(employeeRepository.findAllFields(any())).willReturn(List.of(Map.of("id", 1L, "email", "vcs@vcs.com")));
+
+        // when - action or the behaviour that we are going to test
+        List<Map<String, Object>> rows = employeeService.getEmployeeFields(List.of("id", "email", "id"));
+
+        // then - verify the output
+        assertThat(rows).hasSize(1);
+        verify(employeeRepository).findAllFields(argThat(fields -> List.copyOf(fields).equals(List.of("id", "email"))));
+    }
+
+    // JUnit test for getEmployeeFields method with Exception Handling
+    @DisplayName("JUnit test to getEmployeeFields method which throws Exception")
+    @Test
+    public void givenUnknownField_whenGetEmployeeFields_thenThrowsException() {
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeeFields(List.of("id", "salary")));
+
+        // then - verify the output
+        verifyNoInteractions(employeeRepository);
+    }
+
     // JUnit test to getEmployeeById method
     @DisplayName("JUnit test to getEmployeeById method")
     @Test
@@ -165,12 +250,364 @@ public class EmployeeServiceTests {
     public void givenEmployeeId_whenDeleteEmployee_thenNothing() {
 
         // given - precondition or setup
-        willDoNothing().given(employeeRepository).deleteById(employee.getId());
+        given(employeeRepository.deleteRowById(employee.getId())).willReturn(1);
 
         // when - action or the behaviour that we are going to test
         employeeService.deleteEmployee(employee.getId());
 
         // then - verify the output
-        verify(employeeRepository, times(1)).deleteById(1L);
+        verify(employeeRepository, times(1)).deleteRowById(1L);
+    }
+
+    // JUnit test for getEmployeesAfter method
+    @DisplayName("JUnit test to getEmployeesAfter method")
+    @Test
+    public void givenMoreEmployeesThanLimit_whenGetEmployeesAfter_thenReturnPageWithNextCursor() {
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Vraja")
+                .lastName("Mohana")
+                .email("vraja@vraja.com")
+                .build();
+        given(employeeRepository.findPageAfter(0L, Pageable.ofSize(2))).willReturn(List.of(employee, employee1));
+
+        // when - action or the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesAfter(0L, 1);
+
+        // then - verify the output
+        assertThat(page.getEmployees()).containsExactly(employee);
+        assertThat(page.getNextCursor()).isEqualTo(1L);
+    }
+
+    // JUnit test for getEmployeesAfter method
+    @DisplayName("JUnit test to getEmployeesAfter method (last page has no cursor)")
+    @Test
+    public void givenLastPage_whenGetEmployeesAfter_thenReturnPageWithoutCursor() {
+
+        // given - precondition or setup
+        given(employeeRepository.findPageAfter(0L, Pageable.ofSize(11))).willReturn(List.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesAfter(0L, 10);
+
+        // then - verify the output
+        assertThat(page.getEmployees()).containsExactly(employee);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    // JUnit test for streamAllEmployees method
+    @DisplayName("JUnit test to streamAllEmployees method")
+    @Test
+    public void givenEmployeesStream_whenStreamAllEmployees_thenConsumeAndDetachEachEmployee() {
+
+        // given - precondition or setup
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee));
+        List<Employee> consumed = new ArrayList<>();
+
+        // when - action or the behaviour that we are going to test
+        employeeService.streamAllEmployees(consumed::add);
+
+        // then - verify the output
+        assertThat(consumed).containsExactly(employee);
+        verify(entityManager, times(1)).detach(employee);
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method")
+    @Test
+    public void givenEmployeesBatch_whenSaveEmployees_thenReportStatusPerRow() {
+
+        // given - precondition or setup
+        Employee newEmployee = Employee.builder().firstName("Vraja").lastName("Mohana").email("vraja@vraja.com").build();
+        Employee repeatedEmployee = Employee.builder().firstName("Vraja").lastName("Mohana").email("VRAJA@vraja.com").build();
+        Employee invalidEmployee = Employee.builder().firstName("Vraja").build();
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of("vcs@vcs.com"));
+        given(employeeRepository.insertAll(List.of(newEmployee))).willAnswer(invocation -> {
+            newEmployee.setId(7L);
+            return invocation.getArgument(0);
+        });
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(
+                List.of(employee, newEmployee, repeatedEmployee, invalidEmployee));
+
+        // then - verify the output
+        assertThat(results).extracting(EmployeeBatchResult::getStatus).containsExactly(
+                EmployeeBatchResult.Status.DUPLICATE, EmployeeBatchResult.Status.CREATED,
+                EmployeeBatchResult.Status.DUPLICATE, EmployeeBatchResult.Status.INVALID);
+        assertThat(results.get(1).getEmployee().getId()).isEqualTo(7L);
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    // JUnit test to getEmployeeById method served from the cache
+    @DisplayName("JUnit test to getEmployeeById method (cache hit)")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeById_thenSkipRepository() {
+
+        // given - precondition or setup
+        given(employeeCache.get(1L)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        Employee cachedEmployee = employeeService.getEmployeeById(1L).get();
+
+        // then - verify the output
+        assertThat(cachedEmployee).isEqualTo(employee);
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    // JUnit test to getEmployeeByEmail method
+    @DisplayName("JUnit test to getEmployeeByEmail method")
+    @Test
+    public void givenEmail_whenGetEmployeeByEmail_thenLoadAndCacheCopy() {
+
+        // given - precondition or setup
+        given(employeeRepository.findByEmail("vcs@vcs.com")).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        Employee foundEmployee = employeeService.getEmployeeByEmail("vcs@vcs.com").get();
+
+        // then - verify the output
+        assertThat(foundEmployee).isEqualTo(employee).isNotSameAs(employee);
+        verify(employeeCache, times(1)).fill(employee);
+        assertThat(meterRegistry.get("employee.singleflight.loads").tag("lookup", "email").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test to getEmployeesByIds method
+    @DisplayName("JUnit test to getEmployeesByIds method")
+    @Test
+    public void givenIds_whenGetEmployeesByIds_thenQueryOnlyCacheMissesAndKeepOrder() {
+
+        // given - precondition or setup
+        Employee cachedEmployee = employee.toBuilder().id(2L).email("vraja@vraja.com").build();
+        given(employeeCache.get(1L)).willReturn(Optional.empty());
+        given(employeeCache.get(2L)).willReturn(Optional.of(cachedEmployee));
+        given(employeeCache.get(3L)).willReturn(Optional.empty());
+        given(employeeRepository.findAllById(List.of(3L, 1L))).willReturn(List.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        EmployeeLookup lookup = employeeService.getEmployeesByIds(List.of(3L, 2L, 1L, 2L));
+
+        // then - verify the output
+        assertThat(lookup.getEmployees()).extracting(Employee::getId).containsExactly(2L, 1L);
+        assertThat(lookup.getMissingIds()).containsExactly(3L);
+        verify(employeeCache, times(1)).fill(employee);
+    }
+
+    // JUnit test to getEmployeesByIds method with too many ids
+    @DisplayName("JUnit test to getEmployeesByIds method (too many ids)")
+    @Test
+    public void givenTooManyIds_whenGetEmployeesByIds_thenThrowsException() {
+
+        // given - precondition or setup
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByIds(ids));
+
+        // then - verify the output
+        verifyNoInteractions(employeeRepository);
+    }
+
+    // JUnit test for saveEmployee method rejecting a cached email
+    @DisplayName("JUnit test for saveEmployee method (cached duplicate email)")
+    @Test
+    public void givenCachedEmail_whenSaveEmployee_thenThrowsWithoutQuery() {
+
+        // given - precondition or setup
+        given(employeeCache.getByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
+
+        // then - verify the output
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+    }
+
+    // JUnit test to deleteEmployee method evicting the cache
+    @DisplayName("JUnit test to deleteEmployee method (cache eviction)")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenEvictFromCache() {
+
+        // given - precondition or setup
+        given(employeeRepository.deleteRowById(1L)).willReturn(1);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(1L);
+
+        // then - verify the output
+        verify(employeeCache, times(1)).evictDeleted(1L);
+    }
+
+    // JUnit test to conditional updateEmployee method
+    @DisplayName("JUnit test to conditional updateEmployee method")
+    @Test
+    public void givenCurrentVersion_whenUpdateEmployeeById_thenReturnEmployeeWithNextVersion() {
+
+        // given - precondition or setup
+        given(employeeRepository.updateByIdAndVersion(eq(1L), eq(2L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(1);
+
+        // when - action or the behaviour that we are going to test
+        Employee updatedEmployee = employeeService.updateEmployee(1L, employee, 2L).get();
+
+        // then - verify the output
+        assertThat(updatedEmployee.getVersion()).isEqualTo(3L);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeCache, times(1)).put(updatedEmployee);
+    }
+
+    // JUnit test to unconditional updateEmployee method
+    @DisplayName("JUnit test to unconditional updateEmployee method (version read back)")
+    @Test
+    public void givenNoExpectedVersion_whenUpdateEmployeeById_thenReturnStoredVersion() {
+
+        // given - precondition or setup
+        employee.setVersion(0L);
+        given(employeeRepository.updateById(eq(1L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(1);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(5L));
+
+        // when - action or the behaviour that we are going to test
+        Employee updatedEmployee = employeeService.updateEmployee(1L, employee, null).get();
+
+        // then - verify the output
+        assertThat(updatedEmployee.getVersion()).isEqualTo(5L);
+        verify(employeeOutbox, times(1)).record(EmployeeChange.Type.UPDATED, updatedEmployee);
+        verify(employeeCache, times(1)).put(updatedEmployee);
+    }
+
+    // JUnit test to conditional updateEmployee method with a missing id
+    @DisplayName("JUnit test to conditional updateEmployee method (missing id)")
+    @Test
+    public void givenMissingId_whenUpdateEmployeeById_thenReturnEmpty() {
+
+        // given - precondition or setup
+        given(employeeRepository.updateById(eq(1L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(0);
+
+        // when - action or the behaviour that we are going to test
+        Optional<Employee> updatedEmployee = employeeService.updateEmployee(1L, employee, null);
+
+        // then - verify the output
+        assertThat(updatedEmployee).isEmpty();
+    }
+
+    // JUnit test to conditional updateEmployee method with a stale version
+    @DisplayName("JUnit test to conditional updateEmployee method (stale version)")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployeeById_thenThrowsException() {
+
+        // given - precondition or setup
+        given(employeeRepository.updateByIdAndVersion(eq(1L), eq(2L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> employeeService.updateEmployee(1L, employee, 2L));
+
+        // then - verify the output
+        verify(employeeCache, times(1)).evict(1L);
+    }
+
+    // JUnit test to searchEmployees method
+    @DisplayName("JUnit test to searchEmployees method")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenQueryIndexWithClampedLimit() {
+
+        // given - precondition or setup
+        given(employeeSearchIndex.isReady()).willReturn(true);
+        given(employeeSearchIndex.search("viv", 100)).willReturn(new EmployeeSearchResult(List.of(employee), false));
+
+        // when - action or the behaviour that we are going to test
+        EmployeeSearchResult result = employeeService.searchEmployees("viv", 5000);
+
+        // then - verify the output
+        assertThat(result.getEmployees()).containsExactly(employee);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    // JUnit test to searchEmployees method before the index is loaded
+    @DisplayName("JUnit test to searchEmployees method (index still loading)")
+    @Test
+    public void givenIndexNotReady_whenSearchEmployees_thenThrowsException() {
+
+        // given - precondition or setup
+        given(employeeSearchIndex.isReady()).willReturn(false);
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        Assertions.assertThrows(SearchIndexNotReadyException.class, () -> employeeService.searchEmployees("viv", 10));
+        verify(employeeSearchIndex, never()).search(anyString(), anyInt());
+    }
+
+    // JUnit test to deleteEmployee method removing the employee from the search index
+    @DisplayName("JUnit test to deleteEmployee method (search index)")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenRemoveFromSearchIndex() {
+
+        // given - precondition or setup
+        given(employeeRepository.deleteRowById(1L)).willReturn(1);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(1L);
+
+        // then - verify the output
+        verify(employeeSearchIndex, times(1)).remove(1L);
+    }
+
+    // JUnit test to saveEmployee method writing the outbox
+    @DisplayName("JUnit test for saveEmployee method (outbox)")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenRecordCreatedChange() {
+
+        // given - precondition or setup
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.saveEmployee(employee);
+
+        // then - verify the output
+        verify(employeeOutbox, times(1)).record(EmployeeChange.Type.CREATED, employee);
+    }
+
+    // JUnit test to deleteEmployee method writing the outbox
+    @DisplayName("JUnit test to deleteEmployee method (outbox)")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenRecordDeletedChange() {
+
+        // given - precondition or setup
+        given(employeeRepository.deleteRowById(1L)).willReturn(1);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(1L);
+
+        // then - verify the output
+        verify(employeeOutbox, times(1)).record(eq(EmployeeChange.Type.DELETED), argThat(deleted -> deleted.getId() == 1L));
+    }
+
+    // JUnit test to deleteEmployee method for a missing id
+    @DisplayName("JUnit test to deleteEmployee method (missing id)")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenRecordNoChange() {
+
+        // given - precondition or setup
+        given(employeeRepository.deleteRowById(1L)).willReturn(0);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(1L);
+
+        // then - verify the output
+        verifyNoInteractions(employeeOutbox);
+    }
+
+    // JUnit test to getChangesSince method
+    @DisplayName("JUnit test to getChangesSince method")
+    @Test
+    public void givenLongWait_whenGetChangesSince_thenClampPageSizeAndWait() {
+
+        // when - action or the behaviour that we are going to test
+        employeeService.getChangesSince(5L, 50_000, Duration.ofMinutes(10));
+
+        // then - verify the output
+        verify(employeeOutbox, times(1)).awaitChangesSince(5L, 1000, Duration.ofSeconds(30));
     }
 }
@@ -0,0 +1,201 @@
+package com.vcs.springbootTesting.service;
+
+import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.model.EmployeeRecord;
+import com.vcs.springbootTesting.repository.ReactiveEmployeeRepository;
+import com.vcs.springbootTesting.service.impl.ReactiveEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceTests {
+
+    @Mock
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private ReactiveEmployeeServiceImpl reactiveEmployeeService;
+
+    private Employee employee;
+
+    private EmployeeRecord employeeRecord;
+
+    @BeforeEach
+    public void setup() {
+
+        // the transaction itself is covered by R2dbcTransactionManager, here it only passes the write through
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(reactiveEmployeeRepository.insertChange(anyLong(), any(), any(), any(), any(), any(), anyLong())).thenReturn(Mono.just(1));
+        reactiveEmployeeService = new ReactiveEmployeeServiceImpl(reactiveEmployeeRepository, transactionalOperator);
+
+        employee = Employee.builder()
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .build();
+        employeeRecord = new EmployeeRecord(1L, "Vivek", "Chandra", "vcs@vcs.com", 0L, 0L);
+    }
+
+    // JUnit test for saveEmployee method
+    @DisplayName("JUnit test for saveEmployee method (reactive)")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.save(any(EmployeeRecord.class))).willReturn(Mono.just(employeeRecord));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.saveEmployee(employee))
+                .assertNext(savedEmployee -> assertThat(savedEmployee.getId()).isEqualTo(1L))
+                .verifyComplete();
+    }
+
+    // JUnit test for saveEmployee method with Exception Handling
+    @DisplayName("JUnit test for saveEmployee method which throws Exception (reactive)")
+    @Test
+    public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.save(any(EmployeeRecord.class)))
+                .willReturn(Mono.error(new DuplicateKeyException("uk_employees_email")));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.saveEmployee(employee))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    // JUnit test for getAllEmployees method
+    @DisplayName("JUnit test to getAllEmployees method (reactive)")
+    @Test
+    public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() {
+
+        // given - precondition or setup
+        EmployeeRecord employeeRecord1 = new EmployeeRecord(2L, "Vraja", "Mohana", "vraja@vraja.com", 0L, 0L);
+        given(reactiveEmployeeRepository.streamAll()).willReturn(Flux.just(employeeRecord, employeeRecord1));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.getAllEmployees())
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    // JUnit test for updateEmployee method
+    @DisplayName("JUnit test to updateEmployee method (reactive)")
+    @Test
+    public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.updateByIdAndVersion(eq(1L), eq(3L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(Mono.just(1));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(1L, employee, 3L))
+                .assertNext(updatedEmployee -> {
+                    assertThat(updatedEmployee.getId()).isEqualTo(1L);
+                    assertThat(updatedEmployee.getVersion()).isEqualTo(4L);
+                })
+                .verifyComplete();
+    }
+
+    // JUnit test for updateEmployee method with a stale version
+    @DisplayName("JUnit test to updateEmployee method (reactive, stale version)")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsOptimisticLockingFailure() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.updateByIdAndVersion(eq(1L), eq(3L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(Mono.just(0));
+        given(reactiveEmployeeRepository.existsById(1L)).willReturn(Mono.just(true));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(1L, employee, 3L))
+                .expectError(ObjectOptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    // JUnit test for updateEmployee method (missing employee)
+    @DisplayName("JUnit test to updateEmployee method (reactive, missing employee)")
+    @Test
+    public void givenMissingEmployee_whenUpdateEmployee_thenReturnEmpty() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.updateById(eq(1L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(Mono.just(0));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(1L, employee, null))
+                .verifyComplete();
+    }
+
+    // JUnit test for updateEmployee method without an expected version
+    @DisplayName("JUnit test to updateEmployee method (reactive, no If-Match)")
+    @Test
+    public void givenNoExpectedVersion_whenUpdateEmployee_thenReturnAndRecordStoredVersion() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.updateById(eq(1L), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), anyLong())).willReturn(Mono.just(1));
+        given(reactiveEmployeeRepository.findVersionById(1L)).willReturn(Mono.just(5L));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(1L, employee, null))
+                .assertNext(updatedEmployee -> assertThat(updatedEmployee.getVersion()).isEqualTo(5L))
+                .verifyComplete();
+        verify(reactiveEmployeeRepository).insertChange(eq(1L), eq("UPDATED"), eq("Vivek"), eq("Chandra"), eq("vcs@vcs.com"), eq(5L), anyLong());
+    }
+
+    // JUnit test for deleteEmployee method
+    @DisplayName("JUnit test to deleteEmployee method (reactive)")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenRecordDeletedChange() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.deleteRowById(1L)).willReturn(Mono.just(1));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.deleteEmployee(1L))
+                .verifyComplete();
+        verify(reactiveEmployeeRepository).insertChange(eq(1L), eq("DELETED"), isNull(), isNull(), isNull(), isNull(), anyLong());
+    }
+
+    // JUnit test for deleteEmployee method for a missing id
+    @DisplayName("JUnit test to deleteEmployee method (reactive, missing id)")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenRecordNoChange() {
+
+        // given - precondition or setup
+        given(reactiveEmployeeRepository.deleteRowById(1L)).willReturn(Mono.just(0));
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(reactiveEmployeeService.deleteEmployee(1L))
+                .verifyComplete();
+        verify(reactiveEmployeeRepository, never()).insertChange(anyLong(), any(), any(), any(), any(), any(), anyLong());
+    }
+}
@@ -0,0 +1,221 @@
+package com.vcs.springbootTesting.shard;
+
+import com.vcs.springbootTesting.model.Employee;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// three embedded H2 shards (db/migration) and an H2 directory (db/directory)
+public class ShardedEmployeeRepositoryTests {
+
+    private static final int SHARDS = 3;
+
+    private List<DataSource> shards;
+
+    private DataSource directory;
+
+    private ShardedEmployeeRepository shardedEmployeeRepository;
+
+    @BeforeEach
+    public void setup() {
+
+        directory = database("directory", "classpath:db/directory/h2");
+        shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++)
+            shards.add(database("shard-" + i, "classpath:db/migration/h2"));
+        shardedEmployeeRepository = new ShardedEmployeeRepository(directory, shards);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        shardedEmployeeRepository.close();
+    }
+
+    private static DataSource database(String name, String location) {
+
+        DataSource dataSource = DataSourceBuilder.create()
+                .url("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+                .username("sa")
+                .password("")
+                .build();
+        Flyway.configure().dataSource(dataSource).locations(location).load().migrate();
+        return dataSource;
+    }
+
+    private static List<Employee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Employee.builder().firstName(i % 2 == 0 ? "Ramesh" : "John").lastName("Fadatare").email("employee" + i + "@gmail.com").build())
+                .toList();
+    }
+
+    private int rowsOn(int shard) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject("select count(*) from employees", Integer.class);
+    }
+
+    // JUnit test for inserts spread over the shards
+    @DisplayName("JUnit test for insertAll placing every row on the shard of its id")
+    @Test
+    public void givenEmployees_whenInsertAll_thenEachRowOnItsShard() {
+
+        // given - precondition or setup
+        List<Employee> employees = employees(60);
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> inserted = shardedEmployeeRepository.insertAll(employees);
+
+        // then - verify the output
+        assertThat(inserted).extracting(Employee::getId).doesNotHaveDuplicates().doesNotContain(0L);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int expected = shard;
+            assertThat(rowsOn(shard)).isPositive()
+                    .isEqualTo((int) inserted.stream().filter(employee -> ShardedEmployeeRepository.shardOf(employee.getId(), SHARDS) == expected).count());
+        }
+        Employee employee = inserted.get(17);
+        assertThat(shardedEmployeeRepository.findById(employee.getId())).contains(employee);
+        assertThat(shardedEmployeeRepository.findByEmail(employee.getEmail())).contains(employee);
+        assertThat(shardedEmployeeRepository.findAllById(inserted.stream().map(Employee::getId).toList())).hasSize(60);
+        assertThat(shardedEmployeeRepository.existsById(employee.getId())).isTrue();
+    }
+
+    // JUnit test for emails unique across shards
+    @DisplayName("JUnit test for a taken email rejected by the directory with nothing written")
+    @Test
+    public void givenTakenEmail_whenInsertAll_thenThrowsAndWritesNothing() {
+
+        // given - precondition or setup
+        shardedEmployeeRepository.insertAll(employees(5));
+        List<Employee> batch = new ArrayList<>(employees(8).subList(5, 8));
+        batch.add(Employee.builder().firstName("Ramesh").lastName("Fadatare").email("employee2@gmail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        assertThatThrownBy(() -> shardedEmployeeRepository.insertAll(batch)).isInstanceOf(DataIntegrityViolationException.class);
+
+        // then - verify the output
+        assertThat(shardedEmployeeRepository.findExistingEmails(List.of("employee2@gmail.com", "employee6@gmail.com", "nobody@gmail.com")))
+                .containsExactly("employee2@gmail.com");
+        assertThat(IntStream.range(0, SHARDS).map(this::rowsOn).sum()).isEqualTo(5);
+    }
+
+    // JUnit test for the scatter-gather queries
+    @DisplayName("JUnit test for findAll and the name query merging every shard in id order")
+    @Test
+    public void givenEmployeesOnAllShards_whenFindAll_thenMergedInIdOrder() {
+
+        // given - precondition or setup
+        List<Employee> inserted = shardedEmployeeRepository.insertAll(employees(2500));
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> all = shardedEmployeeRepository.findAll();
+        List<Employee> johns = shardedEmployeeRepository.findByFirstNameAndLastName("John", "Fadatare");
+
+        // then - verify the output
+        assertThat(all).hasSize(2500).isSortedAccordingTo((a, b) -> Long.compare(a.getId(), b.getId()));
+        assertThat(all).containsExactlyInAnyOrderElementsOf(inserted);
+        assertThat(johns).hasSize(1250).allMatch(employee -> employee.getFirstName().equals("John"))
+                .isSortedAccordingTo((a, b) -> Long.compare(a.getId(), b.getId()));
+    }
+
+    // JUnit test for a consumer giving up half way
+    @DisplayName("JUnit test for streamAll stopping the shards when the consumer fails")
+    @Test
+    public void givenFailingConsumer_whenStreamAll_thenThrowsAndRepositoryStillUsable() {
+
+        // given - precondition or setup
+        shardedEmployeeRepository.insertAll(employees(5000));
+        int[] seen = {0};
+
+        // when - action or the behaviour that we are going to test
+        assertThatThrownBy(() -> shardedEmployeeRepository.streamAll(employee -> {
+            if ( ++seen[0] == 10 )
+                throw new IllegalStateException("client went away");
+        })).hasMessage("client went away");
+
+        // then - verify the output
+        assertThat(seen[0]).isEqualTo(10);
+        assertThat(shardedEmployeeRepository.findAll()).hasSize(5000);
+    }
+
+    // JUnit test for scatter queries over the scan limit
+    @DisplayName("JUnit test for concurrent findAll calls beyond the scan limit waiting their turn")
+    @Test
+    public void givenOneScanSlot_whenConcurrentFindAll_thenAllComplete() throws Exception {
+
+        // given - precondition or setup
+        // the repository from setup has not started a thread yet, tearDown closes the pools through this one
+        shardedEmployeeRepository = new ShardedEmployeeRepository(directory, shards, 1);
+        shardedEmployeeRepository.insertAll(employees(30));
+
+        // when - action or the behaviour that we are going to test
+        List<CompletableFuture<List<Employee>>> results = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(shardedEmployeeRepository::findAll))
+                .toList();
+
+        // then - verify the output
+        for (CompletableFuture<List<Employee>> result : results)
+            assertThat(result.get(10, TimeUnit.SECONDS)).hasSize(30);
+    }
+
+    // JUnit test for updates moving an email in the directory
+    @DisplayName("JUnit test for update and delete keeping the directory in step")
+    @Test
+    public void givenEmployee_whenUpdateEmailAndDelete_thenDirectoryFollows() {
+
+        // given - precondition or setup
+        Employee employee = shardedEmployeeRepository.insert(Employee.builder().firstName("Ramesh").lastName("Fadatare").email("ramesh@gmail.com").build());
+        shardedEmployeeRepository.insert(Employee.builder().firstName("John").lastName("Cena").email("cena@gmail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        int updated = shardedEmployeeRepository.updateById(employee.getId(), "Ram", "Fadatare", "ram@gmail.com", 1L);
+        int stale = shardedEmployeeRepository.updateByIdAndVersion(employee.getId(), 0L, "Ram", "F", "other@gmail.com", 2L);
+
+        // then - verify the output
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+        assertThat(shardedEmployeeRepository.findByEmail("ramesh@gmail.com")).isEmpty();
+        assertThat(shardedEmployeeRepository.findByEmail("ram@gmail.com")).hasValueSatisfying(found -> assertThat(found.getVersion()).isEqualTo(1));
+        assertThat(shardedEmployeeRepository.findExistingEmails(List.of("other@gmail.com"))).isEmpty();
+        assertThatThrownBy(() -> shardedEmployeeRepository.updateById(employee.getId(), "Ram", "Fadatare", "cena@gmail.com", 3L))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        shardedEmployeeRepository.deleteById(employee.getId());
+        assertThat(shardedEmployeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(shardedEmployeeRepository.findExistingEmails(List.of("ram@gmail.com"))).isEmpty();
+    }
+
+    // JUnit test for the shard hash
+    @DisplayName("JUnit test for shardOf spreading ids evenly and only moving rows to an added shard")
+    @Test
+    public void givenIds_whenShardOf_thenEvenAndStableWhenGrowing() {
+
+        // given - precondition or setup
+        int[] rows = new int[4];
+
+        // when - action or the behaviour that we are going to test
+        for (long id = 1; id <= 100_000; id++) {
+            int before = ShardedEmployeeRepository.shardOf(id, 4);
+            int after = ShardedEmployeeRepository.shardOf(id, 5);
+            rows[before]++;
+
+            // then - verify the output
+            assertThat(after).isIn(before, 4);
+        }
+        assertThat(IntStream.of(rows).min().getAsInt()).isGreaterThan(23_000);
+        assertThat(IntStream.of(rows).max().getAsInt()).isLessThan(27_000);
+    }
+}
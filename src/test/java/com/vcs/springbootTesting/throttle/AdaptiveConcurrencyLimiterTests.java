@@ -0,0 +1,77 @@
+package com.vcs.springbootTesting.throttle;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    // samples taken with the limit fully used, as under load
+    private static void busySamples(AdaptiveConcurrencyLimiter limiter, long rttMillis, int count) {
+        for (int i = 0; i < count; i++)
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(rttMillis), limiter.getLimit());
+    }
+
+    // JUnit test for requests over the limit
+    @DisplayName("JUnit test for tryAcquire rejecting requests over the limit")
+    @Test
+    public void givenLimitReached_whenTryAcquire_thenRejectUntilReleased() {
+
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 3);
+        for (int i = 0; i < 3; i++)
+            assertThat(limiter.tryAcquire()).isTrue();
+
+        // when - action or the behaviour that we are going to test
+        boolean overLimit = limiter.tryAcquire();
+        limiter.release();
+        boolean afterRelease = limiter.tryAcquire();
+
+        // then - verify the output
+        assertThat(overLimit).isFalse();
+        assertThat(afterRelease).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+    }
+
+    // JUnit test for the limit following latency
+    @DisplayName("JUnit test for the limit shrinking while requests queue and recovering after")
+    @Test
+    public void givenLatencyRise_whenSamples_thenLimitShrinksAndRecovers() {
+
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 100);
+        busySamples(limiter, 10, 600);
+        int steady = limiter.getLimit();
+
+        // when - action or the behaviour that we are going to test
+        busySamples(limiter, 60, 50);
+        int overloaded = limiter.getLimit();
+        busySamples(limiter, 10, 200);
+        int recovered = limiter.getLimit();
+
+        // then - verify the output
+        assertThat(steady).isEqualTo(100);
+        assertThat(overloaded).isLessThan(steady / 2).isGreaterThanOrEqualTo(5);
+        assertThat(recovered).isEqualTo(100);
+    }
+
+    // JUnit test for an idle limiter
+    @DisplayName("JUnit test for slow samples leaving a mostly unused limit alone")
+    @Test
+    public void givenFewInFlight_whenSlowSamples_thenLimitUnchanged() {
+
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 100);
+        busySamples(limiter, 10, 100);
+
+        // when - action or the behaviour that we are going to test
+        for (int i = 0; i < 50; i++)
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(60), 2);
+
+        // then - verify the output
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+}
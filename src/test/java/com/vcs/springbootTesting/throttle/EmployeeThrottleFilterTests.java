@@ -0,0 +1,145 @@
+package com.vcs.springbootTesting.throttle;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeThrottleFilterTests {
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // the filter's clock, moved by hand
+    private AtomicLong now = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter listLimiter = new AdaptiveConcurrencyLimiter(1, 1);
+
+    private EmployeeThrottleFilter employeeThrottleFilter;
+
+    @BeforeEach
+    public void setup() {
+        employeeThrottleFilter = new EmployeeThrottleFilter(Map.of(
+                EndpointGroup.LIST, new EndpointLimits(0, 0, 1, 2, listLimiter, now.get()),
+                EndpointGroup.LOOKUP, new EndpointLimits(0, 0, 0, 0, new AdaptiveConcurrencyLimiter(10, 100), now.get())),
+                "X-Client-Id", meterRegistry, now::get);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if ( client != null )
+            request.addHeader("X-Client-Id", client);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain filterChain) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        employeeThrottleFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        return perform(request, new MockFilterChain());
+    }
+
+    // JUnit test for the per-client token bucket
+    @DisplayName("JUnit test for a client over its rate getting 429 while other clients go through")
+    @Test
+    public void givenClientOverRate_whenListEmployees_thenTooManyRequests() throws Exception {
+
+        // given - precondition or setup
+        perform(request("GET", "/api/employees", "nightly-sync"));
+        perform(request("GET", "/api/employees", "nightly-sync"));
+
+        // when - action or the behaviour that we are going to test
+        MockHttpServletResponse throttled = perform(request("GET", "/api/employees", "nightly-sync"));
+        MockHttpServletResponse otherClient = perform(request("GET", "/api/employees", "dashboard"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        MockHttpServletResponse refilled = perform(request("GET", "/api/employees", "nightly-sync"));
+
+        // then - verify the output
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(refilled.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("employee.throttle.rejections").tags("group", "list", "reason", "rate").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for the list bulkhead
+    @DisplayName("JUnit test for a full list bulkhead shedding lists with 503 but not lookups")
+    @Test
+    public void givenListBulkheadFull_whenRequests_thenShedListsOnly() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletResponse[] shed = new MockHttpServletResponse[1];
+        MockHttpServletResponse[] lookup = new MockHttpServletResponse[1];
+
+        // when - action or the behaviour that we are going to test
+        MockHttpServletResponse running = perform(request("GET", "/api/employees", "a"), (req, res) -> {
+            // both arrive while the first list is still running
+            shed[0] = perform(request("GET", "/api/employees", "b"));
+            lookup[0] = perform(request("GET", "/api/employees/1", "b"));
+        });
+
+        // then - verify the output
+        assertThat(running.getStatus()).isEqualTo(200);
+        assertThat(shed[0].getStatus()).isEqualTo(503);
+        assertThat(shed[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(lookup[0].getStatus()).isEqualTo(200);
+        assertThat(listLimiter.getInFlight()).isZero();
+    }
+
+    // JUnit test for the client key without a trusted header
+    @DisplayName("JUnit test for clients keyed by remote address when no client header is configured")
+    @Test
+    public void givenNoClientHeader_whenHeaderChangesPerRequest_thenStillOneClient() throws Exception {
+
+        // given - precondition or setup
+        employeeThrottleFilter = new EmployeeThrottleFilter(Map.of(
+                EndpointGroup.LIST, new EndpointLimits(0, 0, 1, 2, null, now.get())),
+                "", meterRegistry, now::get);
+
+        // when - action or the behaviour that we are going to test
+        perform(request("GET", "/api/employees", "a"));
+        perform(request("GET", "/api/employees", "b"));
+        MockHttpServletResponse third = perform(request("GET", "/api/employees", "c"));
+
+        // then - verify the output
+        assertThat(third.getStatus()).isEqualTo(429);
+    }
+
+    // JUnit test for sorting requests into groups
+    @DisplayName("JUnit test for requests grouped by the cost of their endpoint")
+    @Test
+    public void givenRequests_whenGroup_thenByCost() {
+
+        // given - precondition or setup
+        MockHttpServletRequest byIds = request("GET", "/api/employees", null);
+        byIds.setParameter("ids", "1,2");
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThat(EndpointGroup.of(request("GET", "/api/employees", null))).isEqualTo(EndpointGroup.LIST);
+        assertThat(EndpointGroup.of(request("GET", "/api/employees/stream", null))).isEqualTo(EndpointGroup.LIST);
+        assertThat(EndpointGroup.of(request("POST", "/api/employees/import", null))).isEqualTo(EndpointGroup.LIST);
+        assertThat(EndpointGroup.of(byIds)).isEqualTo(EndpointGroup.LOOKUP);
+        assertThat(EndpointGroup.of(request("GET", "/api/employees/42", null))).isEqualTo(EndpointGroup.LOOKUP);
+        assertThat(EndpointGroup.of(request("POST", "/api/employees/lookup", null))).isEqualTo(EndpointGroup.LOOKUP);
+        assertThat(EndpointGroup.of(request("POST", "/api/employees/batch", null))).isEqualTo(EndpointGroup.LIST);
+        assertThat(EndpointGroup.of(request("PUT", "/api/employees/42", null))).isEqualTo(EndpointGroup.WRITE);
+        assertThat(EndpointGroup.of(request("GET", "/api/employees/changes", null))).isEqualTo(EndpointGroup.POLL);
+    }
+}
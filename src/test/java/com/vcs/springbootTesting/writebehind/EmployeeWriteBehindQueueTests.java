@@ -0,0 +1,232 @@
+package com.vcs.springbootTesting.writebehind;
+
+import com.vcs.springbootTesting.dto.EmployeeBatchResult;
+import com.vcs.springbootTesting.dto.EmployeeWriteStatus;
+import com.vcs.springbootTesting.dto.EmployeeWriteStatus.Status;
+import com.vcs.springbootTesting.exception.ResourceNotFoundException;
+import com.vcs.springbootTesting.model.Employee;
+import com.vcs.springbootTesting.repository.EmployeeRepository;
+import com.vcs.springbootTesting.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeWriteBehindQueueTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+
+        employee = Employee.builder()
+                .firstName("Vivek")
+                .lastName("Chandra")
+                .email("vcs@vcs.com")
+                .build();
+    }
+
+    private EmployeeWriteBehindQueue queue(int capacity) {
+        return new EmployeeWriteBehindQueue(employeeService, employeeRepository, meterRegistry,
+                capacity, 500, Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofHours(1), 100_000);
+    }
+
+    // JUnit test for creates flushed on shutdown
+    @DisplayName("JUnit test for creates flushed on shutdown")
+    @Test
+    public void givenQueuedCreates_whenStop_thenFlushAsOneBatch() {
+
+        // given - precondition or setup
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        given(employeeService.saveEmployees(any())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++)
+                results.add(new EmployeeBatchResult(i, EmployeeBatchResult.Status.CREATED, employees.get(i).toBuilder().id(i + 1).build(), null));
+            return results;
+        });
+        EmployeeWriteBehindQueue queue = queue(10);
+        EmployeeWriteStatus first = queue.submitCreate(employee);
+        EmployeeWriteStatus second = queue.submitCreate(employee.toBuilder().email("vraja@vraja.com").build());
+
+        // when - action or the behaviour that we are going to test
+        queue.start();
+        queue.stop();
+
+        // then - verify the output
+        assertThat(first.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(queue.status(first.getTrackingId()).get().getStatus()).isEqualTo(Status.APPLIED);
+        assertThat(queue.status(second.getTrackingId()).get().getEmployee().getId()).isEqualTo(2L);
+        assertThat(queue.size()).isZero();
+        verify(employeeService, times(1)).saveEmployees(any());
+    }
+
+    // JUnit test for a batch failing as a whole
+    @DisplayName("JUnit test for a failed create batch retried in halves")
+    @Test
+    public void givenOneBadCreate_whenFlush_thenFailOnlyThatWrite() {
+
+        // given - precondition or setup
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        given(employeeService.saveEmployees(any())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if ( employees.stream().anyMatch(candidate -> candidate.getEmail().startsWith("bad")) )
+                throw new DataIntegrityViolationException("value too long for column email");
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++)
+                results.add(new EmployeeBatchResult(i, EmployeeBatchResult.Status.CREATED, employees.get(i), null));
+            return results;
+        });
+        EmployeeWriteBehindQueue queue = queue(10);
+        EmployeeWriteStatus first = queue.submitCreate(employee);
+        EmployeeWriteStatus bad = queue.submitCreate(employee.toBuilder().email("bad@vcs.com").build());
+        EmployeeWriteStatus third = queue.submitCreate(employee.toBuilder().email("vraja@vraja.com").build());
+
+        // when - action or the behaviour that we are going to test
+        queue.start();
+        queue.stop();
+
+        // then - verify the output
+        assertThat(queue.status(first.getTrackingId()).get().getStatus()).isEqualTo(Status.APPLIED);
+        assertThat(queue.status(bad.getTrackingId()).get().getStatus()).isEqualTo(Status.FAILED);
+        assertThat(queue.status(third.getTrackingId()).get().getStatus()).isEqualTo(Status.APPLIED);
+    }
+
+    // JUnit test for coalesced updates
+    @DisplayName("JUnit test for coalesced updates")
+    @Test
+    public void givenUnconditionalUpdatesOfSameEmployee_whenFlush_thenApplyOnlyTheLast() {
+
+        // given - precondition or setup
+        given(employeeRepository.findByEmail(any())).willReturn(Optional.empty());
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class), isNull()))
+                .willAnswer(invocation -> Optional.of(invocation.<Employee>getArgument(1)));
+        EmployeeWriteBehindQueue queue = queue(10);
+        EmployeeWriteStatus first = queue.submitUpdate(1L, employee, null);
+        EmployeeWriteStatus second = queue.submitUpdate(1L, employee.toBuilder().lastName("Shekhar").build(), null);
+
+        // when - action or the behaviour that we are going to test
+        queue.start();
+        queue.stop();
+
+        // then - verify the output
+        verify(employeeService, times(1)).updateEmployee(anyLong(), any(Employee.class), any());
+        assertThat(queue.status(first.getTrackingId()).get().getEmployee().getLastName()).isEqualTo("Shekhar");
+        assertThat(queue.status(second.getTrackingId()).get().getStatus()).isEqualTo(Status.APPLIED);
+    }
+
+    // JUnit test for an email claimed by several queued updates
+    @DisplayName("JUnit test for an email kept claimed until the last queued update holding it is applied")
+    @Test
+    public void givenTwoQueuedUpdatesOfSameEmail_whenFirstApplied_thenEmailStillClaimed() {
+
+        // given - precondition or setup
+        given(employeeRepository.findByEmail(any())).willReturn(Optional.empty());
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        EmployeeWriteBehindQueue queue = queue(10);
+        AtomicReference<Throwable> createWhileSecondQueued = new AtomicReference<>();
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class), isNull()))
+                .willAnswer(invocation -> Optional.of(invocation.<Employee>getArgument(1)));
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class), eq(3L))).willAnswer(invocation -> {
+            createWhileSecondQueued.set(Assertions.assertThrows(ResourceNotFoundException.class, () -> queue.submitCreate(employee)));
+            return Optional.of(invocation.<Employee>getArgument(1));
+        });
+        queue.submitUpdate(1L, employee, null);
+        queue.submitUpdate(1L, employee, 3L);
+
+        // when - action or the behaviour that we are going to test
+        queue.start();
+        queue.stop();
+
+        // then - verify the output
+        assertThat(createWhileSecondQueued.get()).isNotNull();
+        // released once both are applied, refused now only because the queue is stopped
+        Assertions.assertThrows(RejectedExecutionException.class, () -> queue.submitCreate(employee));
+    }
+
+    // JUnit test for a versioned update losing the race
+    @DisplayName("JUnit test for a versioned update losing the race")
+    @Test
+    public void givenStaleVersion_whenFlush_thenRecordConflict() {
+
+        // given - precondition or setup
+        given(employeeRepository.findByEmail(any())).willReturn(Optional.empty());
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class), eq(3L)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+        EmployeeWriteBehindQueue queue = queue(10);
+        EmployeeWriteStatus status = queue.submitUpdate(1L, employee, 3L);
+
+        // when - action or the behaviour that we are going to test
+        queue.start();
+        queue.stop();
+
+        // then - verify the output
+        assertThat(queue.status(status.getTrackingId()).get().getStatus()).isEqualTo(Status.CONFLICT);
+    }
+
+    // JUnit test for backpressure
+    @DisplayName("JUnit test for backpressure when the queue is full")
+    @Test
+    public void givenFullQueue_whenSubmit_thenReject() {
+
+        // given - precondition or setup
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        EmployeeWriteBehindQueue queue = queue(1);
+        queue.submitCreate(employee);
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThrows(RejectedExecutionException.class,
+                () -> queue.submitCreate(employee.toBuilder().email("vraja@vraja.com").build()));
+
+        // then - verify the output
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("employee.write.behind.rejections").counter().count()).isEqualTo(1.0);
+    }
+
+    // JUnit test for the duplicate email rule on queued writes
+    @DisplayName("JUnit test for the duplicate email rule on queued writes")
+    @Test
+    public void givenQueuedEmail_whenSubmitSameEmail_thenThrowsException() {
+
+        // given - precondition or setup
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        EmployeeWriteBehindQueue queue = queue(10);
+        queue.submitCreate(employee);
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> queue.submitCreate(employee.toBuilder().email("VCS@vcs.com").build()));
+        verifyNoInteractions(employeeService);
+    }
+}